@@ -0,0 +1,42 @@
+package ru.practicum.shareit.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Журнал доступа: одна строка key=value на HTTP-запрос. Аргументы - строки и числа, поэтому форматирование
+// дешевое, а при выключенном логгере или непопадании в выборку не выполняется вовсе
+public class AccessLog {
+
+    public static final String LOGGER_NAME = "shareit.access";
+
+    private final Logger log;
+    private final double sampleRate;
+    private final long slowNanos;
+
+    public AccessLog(AccessLogProperties properties) {
+        this(LoggerFactory.getLogger(LOGGER_NAME), properties);
+    }
+
+    public AccessLog(Logger log, AccessLogProperties properties) {
+        this.log = log;
+        this.sampleRate = properties.getSampleRate();
+        this.slowNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    public void record(String method, String uri, int status, long nanos, String userId) {
+        if (!log.isInfoEnabled() || !shouldLog(status, nanos)) {
+            return;
+        }
+        log.info("method={} uri={} status={} durationMs={} userId={}",
+                method, uri, status, nanos / 1_000_000, userId == null ? "-" : userId);
+    }
+
+    private boolean shouldLog(int status, long nanos) {
+        return status >= 400
+                || nanos >= slowNanos
+                || sampleRate >= 1.0
+                || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.accesslog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Настройки журнала доступа (логгер shareit.access)
+@Data
+@ConfigurationProperties(prefix = "shareit.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    // Доля успешных быстрых запросов, попадающих в журнал (0..1); ошибки и медленные запросы пишутся всегда
+    private double sampleRate = 1.0;
+
+    // Запросы дольше этого времени пишутся независимо от выборки
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.accesslog;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> events;
+    private AccessLogProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        logger = new LoggerContext().getLogger(AccessLog.LOGGER_NAME);
+        logger.setLevel(Level.INFO);
+        events = new ListAppender<>();
+        events.start();
+        logger.addAppender(events);
+
+        properties = new AccessLogProperties();
+        properties.setSlowThreshold(Duration.ofMillis(500));
+    }
+
+    @Test
+    void record_ShouldWriteKeyValueLine() {
+        new AccessLog(logger, properties).record("GET", "/items/1", 200, FAST, "7");
+
+        assertThat(events.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .isEqualTo("method=GET uri=/items/1 status=200 durationMs=5 userId=7");
+    }
+
+    @Test
+    void record_WithZeroSampleRate_ShouldKeepOnlyErrorsAndSlowRequests() {
+        properties.setSampleRate(0);
+        AccessLog accessLog = new AccessLog(logger, properties);
+
+        accessLog.record("GET", "/items/1", 200, FAST, "1");
+        accessLog.record("GET", "/items/2", 404, FAST, "1");
+        accessLog.record("GET", "/items/3", 200, SLOW, null);
+
+        assertThat(events.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+                "method=GET uri=/items/2 status=404 durationMs=5 userId=1",
+                "method=GET uri=/items/3 status=200 durationMs=1000 userId=-");
+    }
+
+    @Test
+    void record_WithPartialSampleRate_ShouldKeepApproximateShare() {
+        properties.setSampleRate(0.1);
+        AccessLog accessLog = new AccessLog(logger, properties);
+
+        for (int i = 0; i < 10_000; i++) {
+            accessLog.record("GET", "/items", 200, FAST, "1");
+        }
+
+        assertThat(events.list.size()).isBetween(700, 1300);
+    }
+
+    @Test
+    void record_WithLoggerDisabled_ShouldWriteNothing() {
+        logger.setLevel(Level.WARN);
+
+        new AccessLog(logger, properties).record("GET", "/items/1", 500, SLOW, "1");
+
+        assertThat(events.list).isEmpty();
+    }
+}
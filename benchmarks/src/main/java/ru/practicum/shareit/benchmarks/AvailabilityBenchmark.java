@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.storage.booking.IntervalTree;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Проверки занятости по индексу в памяти, которые заменили фильтрацию бронирований по состоянию в сервисе:
+// пересечение интервала, свободные окна за неделю и обновление бронирования при подтверждении
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final long ITEM_ID = 1L;
+    private static final int QUERIES = 1024;
+
+    // Число бронирований одной вещи
+    @Param({"100", "10000", "100000"})
+    private int bookings;
+
+    private IntervalTree tree;
+    private BookingAvailabilityIndex index;
+    private LocalDateTime[] queryStarts;
+    private Booking updated;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tree = new IntervalTree();
+        // Репозиторий не нужен: индекс наполняется через update вне транзакции
+        index = new BookingAvailabilityIndex(null, Duration.ofMinutes(10));
+        Item item = Item.builder().id(ITEM_ID).build();
+
+        // Подтвержденные бронирования по 2 часа с промежутком в 1 час, каждое пятое - ожидающее
+        for (long i = 0; i < bookings; i++) {
+            LocalDateTime start = BASE.plusHours(i * 3);
+            tree.put(i, start, start.plusHours(2));
+            index.update(booking(i, item, start, i % 5 == 0 ? BookingStatus.WAITING : BookingStatus.APPROVED));
+        }
+
+        Random random = new Random(42);
+        queryStarts = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryStarts[i] = BASE.plusHours(random.nextInt(bookings * 3));
+        }
+        updated = booking(bookings / 2L, item, BASE.plusHours(bookings / 2L * 3), BookingStatus.APPROVED);
+    }
+
+    @Benchmark
+    public boolean overlaps() {
+        LocalDateTime from = nextQueryStart();
+        return tree.overlaps(from, from.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean isFree() {
+        LocalDateTime from = nextQueryStart();
+        return index.isFree(ITEM_ID, from, from.plusMinutes(30));
+    }
+
+    @Benchmark
+    public List<IntervalTree.Interval> freeWindowsForWeek() {
+        LocalDateTime from = nextQueryStart();
+        return index.findFreeWindows(ITEM_ID, from, from.plusDays(7));
+    }
+
+    // Замена интервала при изменении статуса бронирования
+    @Benchmark
+    public void update() {
+        index.update(updated);
+    }
+
+    private LocalDateTime nextQueryStart() {
+        next = (next + 1) & (QUERIES - 1);
+        return queryStarts[next];
+    }
+
+    private static Booking booking(long id, Item item, LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(start.plusHours(2));
+        booking.setStatus(status);
+        return booking;
+    }
+}
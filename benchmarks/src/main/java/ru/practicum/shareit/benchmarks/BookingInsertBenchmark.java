@@ -0,0 +1,133 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.ShareItServerApplication;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Пропускная способность вставки бронирований через JPA: BOOKINGS_PER_TRANSACTION бронирований в одной
+// транзакции (как в POST /bookings/batch), результат - бронирований в секунду.
+// Контекст shareit-server поднимается на H2 без веб-слоя. jdbcBatchSize подставляется в hibernate.jdbc.batch_size:
+// 1 - каждая вставка отдельным запросом, 50 - как в application.properties. connection: embedded - база в том же
+// процессе без сетевого обмена, tcp - TCP-сервер H2 на localhost, каждое выполнение запроса - обмен по сокету,
+// как с PostgreSQL
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BookingInsertBenchmark {
+
+    private static final int BOOKINGS_PER_TRANSACTION = 500;
+    private static final int ITEMS = 100;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final String DATABASE = "mem:booking-insert;DB_CLOSE_DELAY=-1";
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"embedded", "tcp"})
+    private String connection;
+
+    private Server tcpServer;
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private User booker;
+    private List<Item> items;
+    private long next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:" + DATABASE;
+        if ("tcp".equals(connection)) {
+            tcpServer = Server.createTcpServer("-tcpPort", "0").start();
+            url = "jdbc:h2:tcp://localhost:" + tcpServer.getPort() + "/" + DATABASE;
+        }
+        context = new SpringApplicationBuilder(ShareItServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "shareit.sql.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        bookingRepository = context.getBean(BookingRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@bench.test").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@bench.test").build());
+        List<Item> newItems = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            newItems.add(Item.builder().name("Item " + i).description("Вещь " + i).available(true).owner(owner)
+                    .build());
+        }
+        items = context.getBean(ItemRepository.class).saveAll(newItems);
+    }
+
+    // Таблица очищается перед каждой итерацией, чтобы рост индексов не смещал результаты
+    @Setup(Level.Iteration)
+    public void clearBookings() {
+        jdbcTemplate.update("DELETE FROM bookings");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (tcpServer != null) {
+            tcpServer.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS_PER_TRANSACTION)
+    public List<Booking> saveAll() {
+        List<Booking> bookings = new ArrayList<>(BOOKINGS_PER_TRANSACTION);
+        for (int i = 0; i < BOOKINGS_PER_TRANSACTION; i++) {
+            LocalDateTime start = BASE.plusHours(next++ * 3);
+            bookings.add(Booking.builder()
+                    .item(items.get(i % ITEMS))
+                    .booker(booker)
+                    .startDate(start)
+                    .endDate(start.plusHours(2))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> bookingRepository.saveAll(bookings));
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.ShareItServerApplication;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
+import ru.practicum.shareit.server.storage.item.ItemStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Поиск вещей по тексту: запрос к базе с пагинацией (ItemStorage.searchItems) против прежней реализации
+// ItemServiceImpl.searchItems - загрузки всех вещей и фильтрации в памяти. Контекст shareit-server поднимается
+// на H2 без веб-слоя; каждая сотая вещь содержит искомое слово, половина вещей недоступна
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String TEXT = "дрель";
+    private static final int PAGE_SIZE = 10;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemStorage itemStorage;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:item-search;DB_CLOSE_DELAY=-1",
+                        "shareit.sql.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        itemRepository = context.getBean(ItemRepository.class);
+        itemStorage = context.getBean(ItemStorage.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemSearchView> database() {
+        return itemStorage.searchItems(TEXT, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> inMemory() {
+        String lowerCaseText = TEXT.toLowerCase();
+        return itemRepository.findAll().stream()
+                .filter(Item::getAvailable)
+                .filter(item -> item.getName().toLowerCase().contains(lowerCaseText) ||
+                        item.getDescription().toLowerCase().contains(lowerCaseText))
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@bench.test')");
+        Long ownerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'owner@bench.test'", Long.class);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < items; i++) {
+            String name = i % 100 == 0 ? "Дрель " + i : "Вещь " + i;
+            batch.add(new Object[]{name, "Описание вещи " + i, i % 2 == 0, ownerId});
+            if (batch.size() == INSERT_BATCH || i == items - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.accesslog.AccessLog;
+import ru.practicum.shareit.accesslog.AccessLogProperties;
+import ru.practicum.shareit.server.dto.booking.BookingShortDto;
+import ru.practicum.shareit.server.dto.item.CommentDto;
+import ru.practicum.shareit.server.dto.item.ItemDto;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Стоимость логирования одного HTTP-запроса в потоке обработчика.
+// Было: синхронная запись INFO с DTO (toString Lombok на каждый запрос).
+// Стало: DTO на DEBUG (при уровне INFO toString не вызывается) и строка журнала доступа через AsyncAppender.
+// Запись идет в /dev/null: системные вызовы остаются, диск не заполняется. В бенчмарке AsyncAppender
+// не отбрасывает события и блокирует поток при полной очереди, поэтому учитывается полная стоимость записи
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private LoggerContext context;
+    private Logger syncController;
+    private AccessLog syncAccessLog;
+    private AccessLog asyncAccessLog;
+    private AccessLog sampledAccessLog;
+    private ItemDto itemDto;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        Appender<ILoggingEvent> sync = sink("sync");
+        Appender<ILoggingEvent> async = async(sink("async-sink"));
+
+        syncController = logger("controller", sync);
+        syncAccessLog = new AccessLog(logger("access.sync", sync), properties(1.0));
+        asyncAccessLog = new AccessLog(logger("access.async", async), properties(1.0));
+        sampledAccessLog = new AccessLog(logger("access.sampled", async), properties(0.1));
+
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<CommentDto> comments = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            comments.add(CommentDto.builder().id(i).text("Отличная дрель, рекомендую " + i)
+                    .authorName("Booker " + i).created(now.minusDays(i)).build());
+        }
+        itemDto = ItemDto.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель с набором сверл")
+                .available(true)
+                .lastBooking(BookingShortDto.builder().id(10L).start(now.minusDays(3)).end(now.minusDays(2))
+                        .bookerId(2L).build())
+                .nextBooking(BookingShortDto.builder().id(11L).start(now.plusDays(1)).end(now.plusDays(2))
+                        .bookerId(3L).build())
+                .comments(comments)
+                .requestId(5L)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    // Прежнее поведение контроллера: INFO с полным DTO, синхронная запись
+    @Benchmark
+    public void syncInfoWithDto() {
+        syncController.info("GET-запрос на получение вещи: item={}, userId={}", itemDto, 1L);
+    }
+
+    // DTO на DEBUG при уровне INFO: форматирование и toString пропускаются
+    @Benchmark
+    public void debugGuardedDto() {
+        syncController.debug("GET-запрос на получение вещи: item={}, userId={}", itemDto, 1L);
+    }
+
+    // Строка журнала доступа без DTO, синхронная запись
+    @Benchmark
+    public void syncAccessLog() {
+        debugGuardedDto();
+        syncAccessLog.record("GET", "/items/1", 200, 3_000_000, "1");
+    }
+
+    // Новое поведение: DTO на DEBUG и строка журнала доступа через AsyncAppender
+    @Benchmark
+    public void asyncAccessLog() {
+        debugGuardedDto();
+        asyncAccessLog.record("GET", "/items/1", 200, 3_000_000, "1");
+    }
+
+    // То же с выборкой 10% успешных запросов
+    @Benchmark
+    public void asyncSampledAccessLog() {
+        debugGuardedDto();
+        sampledAccessLog.record("GET", "/items/1", 200, 3_000_000, "1");
+    }
+
+    private Logger logger(String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> sink(String name) throws IOException {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        Path devNull = Path.of("/dev/null");
+        OutputStream out = Files.exists(devNull) ? new FileOutputStream(devNull.toFile())
+                : OutputStream.nullOutputStream();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(out);
+        appender.start();
+        return appender;
+    }
+
+    private AsyncAppender async(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setName("async");
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(0);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+
+    private static AccessLogProperties properties(double sampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofMillis(500));
+        return properties;
+    }
+}
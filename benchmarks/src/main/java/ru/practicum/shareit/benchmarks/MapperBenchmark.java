@@ -0,0 +1,175 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.server.dto.booking.BookingDto;
+import ru.practicum.shareit.server.dto.booking.BookingShortDto;
+import ru.practicum.shareit.server.dto.item.ItemDto;
+import ru.practicum.shareit.server.dto.request.RequestDto;
+import ru.practicum.shareit.server.mapper.booking.BookingMapper;
+import ru.practicum.shareit.server.mapper.item.ItemMapper;
+import ru.practicum.shareit.server.mapper.request.RequestMapper;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.request.Request;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Преобразование страниц сущностей в DTO: ответы списочных эндпоинтов вещей, бронирований и запросов
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    // Размер страницы: типичный, крупный и выгрузка
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    // Число вещей, откликнувшихся на один запрос
+    private static final int ITEMS_PER_REQUEST = 5;
+
+    private List<Item> items;
+    private List<ItemSearchView> searchViews;
+    private List<Booking> bookings;
+    private List<Request> requests;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+        User owner = User.builder().id(1L).name("Owner").email("owner@example.com").build();
+        User booker = User.builder().id(2L).name("Booker").email("booker@example.com").build();
+
+        items = new ArrayList<>(size);
+        searchViews = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        requests = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = Item.builder()
+                    .id(i)
+                    .name("Item " + i)
+                    .description("Description of item " + i)
+                    .available(true)
+                    .owner(owner)
+                    .requestId(i)
+                    .build();
+            items.add(item);
+            searchViews.add(new SearchView(item));
+
+            Booking booking = new Booking();
+            booking.setId(i);
+            booking.setStartDate(now.plusHours(i));
+            booking.setEndDate(now.plusHours(i + 1));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+
+            requests.add(Request.builder()
+                    .id(i)
+                    .description("Need item " + i)
+                    .created(now.minusHours(i))
+                    .requester(booker)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        List<ItemDto> result = new ArrayList<>(size);
+        for (Item item : items) {
+            result.add(ItemMapper.toItemDto(item));
+        }
+        return result;
+    }
+
+    // Страница результатов поиска (проекция ItemSearchView)
+    @Benchmark
+    public List<ItemDto> searchViewToDto() {
+        List<ItemDto> result = new ArrayList<>(size);
+        for (ItemSearchView view : searchViews) {
+            result.add(ItemMapper.toItemDto(view));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToDto() {
+        List<BookingDto> result = new ArrayList<>(size);
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingShortDto> bookingToShortDto() {
+        List<BookingShortDto> result = new ArrayList<>(size);
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingShortDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<RequestDto> requestToDtoWithItems() {
+        List<RequestDto> result = new ArrayList<>(size);
+        for (int i = 0; i < requests.size(); i++) {
+            int from = i / ITEMS_PER_REQUEST * ITEMS_PER_REQUEST;
+            List<Item> answers = items.subList(from, Math.min(from + ITEMS_PER_REQUEST, items.size()));
+            result.add(RequestMapper.toRequestDto(requests.get(i), answers));
+        }
+        return result;
+    }
+
+    // Проекция, которую возвращает ItemRepository.searchAvailable
+    private static final class SearchView implements ItemSearchView {
+        private final Item item;
+
+        private SearchView(Item item) {
+            this.item = item;
+        }
+
+        @Override
+        public Long getId() {
+            return item.getId();
+        }
+
+        @Override
+        public String getName() {
+            return item.getName();
+        }
+
+        @Override
+        public String getDescription() {
+            return item.getDescription();
+        }
+
+        @Override
+        public Boolean getAvailable() {
+            return item.getAvailable();
+        }
+
+        @Override
+        public Long getRequestId() {
+            return item.getRequestId();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Наполнение базы через API shareit-server: пользователи, запросы, вещи и бронирования.
+// Бронирования одной вещи идут друг за другом без пересечений, часть из них в прошлом; около 60% подтверждается
+class DataSeeder {
+
+    static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "kayak", "camera", "tripod",
+            "projector", "speaker", "hammer", "mixer", "grill", "scooter", "guitar", "telescope"};
+
+    private static final int MAX_PARALLEL = 64;
+
+    private final ShareItHttp server;
+    private final ExecutorService executor;
+    private final Random random = new Random(42);
+
+    DataSeeder(ShareItHttp server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    SeedData seed(int users, int items, int requests, int bookings) throws Exception {
+        List<Long> userIds = runAll(users, i -> server.sendOk("POST", "/users", null,
+                Map.of("name", "User " + i, "email", "user" + i + "@load.test")).get("id").asLong());
+
+        List<Long> requesterIds = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            requesterIds.add(pick(userIds));
+        }
+        List<Long> requestIds = runAll(requests, i -> server.sendOk("POST", "/requests", requesterIds.get(i),
+                Map.of("description", "Need a " + WORDS[i % WORDS.length] + " for the weekend"))
+                .get("id").asLong());
+
+        List<Long> ownerIds = new ArrayList<>();
+        List<Long> itemRequestIds = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            ownerIds.add(pick(userIds));
+            itemRequestIds.add(i % 3 == 0 && !requestIds.isEmpty() ? pick(requestIds) : null);
+        }
+        List<Long> itemIds = runAll(items, i -> {
+            String word = WORDS[i % WORDS.length];
+            Map<String, Object> item = new HashMap<>(Map.of(
+                    "name", word + " " + i,
+                    "description", "Good " + word + ", " + WORDS[(i * 7 + 3) % WORDS.length] + " included",
+                    "available", true));
+            if (itemRequestIds.get(i) != null) {
+                item.put("requestId", itemRequestIds.get(i));
+            }
+            return server.sendOk("POST", "/items", ownerIds.get(i), item).get("id").asLong();
+        });
+
+        List<Long> bookerIds = new ArrayList<>();
+        List<Long> bookingIds = seedBookings(bookings, userIds, itemIds, ownerIds, bookerIds);
+        return new SeedData(userIds, itemIds, ownerIds, bookingIds, bookerIds);
+    }
+
+    private List<Long> seedBookings(int bookings, List<Long> userIds, List<Long> itemIds, List<Long> ownerIds,
+                                    List<Long> bookerIds) throws Exception {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        // Бронирования каждой вещи равномерно покрывают период от 30 дней назад до 60 дней вперед
+        LocalDateTime origin = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(30);
+        int perItem = (bookings + itemIds.size() - 1) / itemIds.size();
+        long slotHours = Math.max(2, 90L * 24 / perItem);
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            int itemIndex = i % itemIds.size();
+            int slot = i / itemIds.size();
+            Long itemId = itemIds.get(itemIndex);
+            Long ownerId = ownerIds.get(itemIndex);
+            Long bookerId = pickOther(userIds, ownerId);
+            bookerIds.add(bookerId);
+            // Бронирование занимает половину слота, поэтому соседние не пересекаются даже с учетом границ
+            LocalDateTime start = origin.plusHours(slotHours * slot + itemIndex % (slotHours / 2));
+            LocalDateTime end = start.plusHours(slotHours / 2);
+            boolean approve = random.nextInt(10) < 6;
+            tasks.add(() -> {
+                Long bookingId = server.sendOk("POST", "/bookings", bookerId,
+                        Map.of("itemId", itemId, "start", start.toString(), "end", end.toString()))
+                        .get("id").asLong();
+                if (approve) {
+                    server.sendOk("PATCH", "/bookings/" + bookingId + "?approved=true", ownerId, null);
+                }
+                return bookingId;
+            });
+        }
+        return runAll(tasks);
+    }
+
+    private List<Long> runAll(int count, IndexedTask task) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(() -> task.call(index));
+        }
+        return runAll(tasks);
+    }
+
+    // Выполняет задачи партиями, чтобы не открывать тысячи соединений к серверу одновременно
+    private List<Long> runAll(List<Callable<Long>> tasks) throws Exception {
+        List<Long> result = new ArrayList<>(tasks.size());
+        for (int from = 0; from < tasks.size(); from += MAX_PARALLEL) {
+            List<Future<Long>> batch = executor.invokeAll(tasks.subList(from,
+                    Math.min(tasks.size(), from + MAX_PARALLEL)));
+            for (Future<Long> future : batch) {
+                result.add(future.get());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private Long pickOther(List<Long> ids, Long excluded) {
+        if (ids.size() < 2) {
+            throw new IllegalArgumentException("Для бронирований нужно не меньше двух пользователей");
+        }
+        Long id;
+        do {
+            id = pick(ids);
+        } while (id.equals(excluded));
+        return id;
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        Long call(int index) throws Exception;
+    }
+}
@@ -0,0 +1,214 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Сквозной нагрузочный тест: запускает исполняемые jar shareit-server и shareit-gateway отдельными процессами,
+ * наполняет базу через API сервера и гоняет смешанную нагрузку по /items, /bookings и /requests через gateway.
+ * Результат - throughput и перцентили задержек по каждому эндпоинту в консоли и в JSON.
+ * По умолчанию сервер работает на встроенной H2 (профиль ci); для PostgreSQL нужно передать
+ * -Dload.datasource.url, -Dload.datasource.username и -Dload.datasource.password.
+ * Дополнительные аргументы сервера через пробел - -Dload.server-args, например для сравнения настроек.
+ * Запуск: mvn -B -Pload -DskipTests verify [-Dload.clients=64 -Dload.duration=60 -Dload.items=2000 ...]
+ */
+public class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        String serverJar = required("load.server-jar");
+        String gatewayJar = required("load.gateway-jar");
+        int clients = Integer.getInteger("load.clients", 64);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 15));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+        int users = Integer.getInteger("load.users", 500);
+        int items = Integer.getInteger("load.items", 2000);
+        int requests = Integer.getInteger("load.requests", 1000);
+        int bookings = Integer.getInteger("load.bookings", 5000);
+        Path result = Path.of(System.getProperty("load.result", "target/load-result.json"));
+        if (users < 2 || items < 1 || bookings < 1) {
+            throw new IllegalArgumentException("Нужны хотя бы 2 пользователя, 1 вещь и 1 бронирование");
+        }
+
+        Path logDir = result.toAbsolutePath().getParent();
+        Files.createDirectories(logDir);
+        int serverPort = freePort();
+        int gatewayPort = freePort();
+
+        List<Process> processes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            processes.add(start(serverJar, logDir.resolve("load-server.log"), serverArguments(serverPort)));
+            processes.add(start(gatewayJar, logDir.resolve("load-gateway.log"), List.of(
+                    "--server.port=" + gatewayPort,
+                    "--server.url=http://localhost:" + serverPort)));
+
+            ShareItHttp server = new ShareItHttp("http://localhost:" + serverPort, executor);
+            ShareItHttp gateway = new ShareItHttp("http://localhost:" + gatewayPort, executor);
+            awaitHealthy(server, processes.get(0));
+            awaitHealthy(gateway, processes.get(1));
+
+            long seedStart = System.nanoTime();
+            SeedData data = new DataSeeder(server, executor).seed(users, items, requests, bookings);
+            System.out.printf("Seeded %d users, %d items, %d requests, %d bookings in %d ms%n",
+                    users, items, requests, bookings, (System.nanoTime() - seedStart) / 1_000_000);
+
+            TrafficDriver driver = new TrafficDriver(gateway, executor, data);
+            System.out.printf("Warmup: %d clients, %d s%n", clients, warmup.toSeconds());
+            driver.run(clients, warmup);
+            // Замеры пула соединений - только за время измерения
+            server.send("DELETE", "/actuator/pool", null, null);
+            double[] usageBefore = connectionUsage(server);
+            System.out.printf("Measurement: %d clients, %d s%n", clients, duration.toSeconds());
+            Map<String, LatencyStats> stats = driver.run(clients, duration);
+            JsonNode pools = server.sendOk("GET", "/actuator/pool", null, null);
+            double[] usageAfter = connectionUsage(server);
+
+            report(stats, pools, usageAfter[0] - usageBefore[0], usageAfter[1] - usageBefore[1], clients, duration,
+                    result);
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+            for (Process process : processes) {
+                process.waitFor();
+            }
+        }
+    }
+
+    private static List<String> serverArguments(int port) {
+        List<String> arguments = new ArrayList<>(List.of("--server.port=" + port, "--shareit.cache.enabled=true"));
+        String url = System.getProperty("load.datasource.url");
+        if (url == null || url.isBlank()) {
+            arguments.add("--spring.profiles.active=ci");
+        } else {
+            arguments.add("--spring.datasource.url=" + url);
+            arguments.add("--spring.datasource.username=" + System.getProperty("load.datasource.username", ""));
+            arguments.add("--spring.datasource.password=" + System.getProperty("load.datasource.password", ""));
+        }
+        String extra = System.getProperty("load.server-args", "");
+        if (!extra.isBlank()) {
+            arguments.addAll(List.of(extra.trim().split("\\s+")));
+        }
+        return arguments;
+    }
+
+    static Process start(String jar, Path log, List<String> arguments) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar));
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    // Ожидает UP от actuator; если процесс упал при старте, причину нужно смотреть в его логе
+    static void awaitHealthy(ShareItHttp http, Process process) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Процесс завершился при старте, код " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = http.send("GET", "/actuator/health", null, null);
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Приложение еще не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Приложение не запустилось за " + STARTUP_TIMEOUT);
+    }
+
+    // Число выдач соединений и суммарное время их удержания в секундах по всем пулам (hikaricp.connections.usage)
+    private static double[] connectionUsage(ShareItHttp server) throws IOException, InterruptedException {
+        JsonNode metric = server.sendOk("GET", "/actuator/metrics/hikaricp.connections.usage", null, null);
+        double count = 0;
+        double totalSeconds = 0;
+        for (JsonNode measurement : metric.get("measurements")) {
+            switch (measurement.get("statistic").asText()) {
+                case "COUNT" -> count = measurement.get("value").asDouble();
+                case "TOTAL_TIME" -> totalSeconds = measurement.get("value").asDouble();
+                default -> {
+                }
+            }
+        }
+        return new double[]{count, totalSeconds};
+    }
+
+    private static void report(Map<String, LatencyStats> stats, JsonNode pools, double checkouts, double holdSeconds,
+                               int clients, Duration duration, Path result) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        LatencyStats total = new LatencyStats();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-32s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        for (Map.Entry<String, LatencyStats> entry : stats.entrySet()) {
+            endpoints.put(entry.getKey(), print(entry.getKey(), entry.getValue().summary(seconds)));
+            total.merge(entry.getValue());
+        }
+        Map<String, Object> overall = print("total", total.summary(seconds));
+        for (JsonNode pool : pools) {
+            System.out.printf("Pool %s: max %d, peak active %d, peak pending %d, recommended %d - %s%n",
+                    pool.get("pool").asText(), pool.get("maximumPoolSize").asInt(), pool.get("peakActive").asInt(),
+                    pool.get("peakPending").asInt(), pool.get("recommendedMaximumPoolSize").asInt(),
+                    pool.get("verdict").asText());
+        }
+        // Удержание соединения на HTTP-запрос: сколько времени запрос в среднем занимает соединение из пула
+        long requests = ((Number) overall.get("requests")).longValue();
+        Map<String, Object> connections = new LinkedHashMap<>();
+        connections.put("checkouts", (long) checkouts);
+        connections.put("meanHoldMs", checkouts == 0 ? 0.0 : LatencyStats.round(holdSeconds * 1000 / checkouts));
+        connections.put("holdMsPerRequest", requests == 0 ? 0.0 : LatencyStats.round(holdSeconds * 1000 / requests));
+        System.out.printf("Connections: %d checkouts, mean hold %s ms, hold per request %s ms%n",
+                connections.get("checkouts"), connections.get("meanHoldMs"), connections.get("holdMsPerRequest"));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("clients", clients);
+        json.put("durationSeconds", duration.toSeconds());
+        json.put("total", overall);
+        json.put("endpoints", endpoints);
+        json.put("pools", pools);
+        json.put("connections", connections);
+        ShareItHttp.JSON.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), json);
+        System.out.println("Result written to " + result.toAbsolutePath());
+    }
+
+    private static Map<String, Object> print(String label, Map<String, Object> summary) {
+        System.out.printf("%-32s %9s %9s %9s %9s %9s %9s %7s%n", label, summary.get("requests"),
+                summary.get("throughput"), summary.get("p50"), summary.get("p90"), summary.get("p99"),
+                summary.get("max"), summary.get("errors"));
+        return summary;
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null || !new File(value).isFile()) {
+            throw new IllegalArgumentException("Не найден jar из -D" + property + ": " + value
+                    + " (сначала соберите модули: mvn -B -DskipTests package)");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Сравнение режимов обработки запросов gateway: потоки платформы Tomcat и виртуальные потоки
+ * (spring.threads.virtual.enabled). Исполняемый jar shareit-gateway запускается отдельным процессом в каждом режиме,
+ * вместо shareit-server - заглушка в этом процессе с фиксированной задержкой ответа на GET /users/{id}.
+ * Каждый из proxy.clients клиентов последовательно отправляет proxy.requests запросов; перед замером - прогон
+ * с десятой частью запросов. Результат - throughput и перцентили задержек в консоли и в JSON.
+ * Запуск: mvn -B -Pproxy -DskipTests verify [-Dproxy.clients=1000 -Dproxy.requests=5 -Dproxy.server-delay-ms=1000]
+ */
+public class ProxyModeLoadTest {
+
+    private static final byte[] USER_JSON = "{\"id\":1,\"name\":\"User\",\"email\":\"user@example.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        String gatewayJar = LoadTest.required("proxy.gateway-jar");
+        int clients = Integer.getInteger("proxy.clients", 1000);
+        int requests = Integer.getInteger("proxy.requests", 5);
+        long serverDelayMs = Long.getLong("proxy.server-delay-ms", 1000);
+        Path result = Path.of(System.getProperty("proxy.result", "target/proxy-result.json"));
+        Path logDir = result.toAbsolutePath().getParent();
+        Files.createDirectories(logDir);
+
+        // По умолчанию встроенный HttpServer держит не более 200 простаивающих keep-alive соединений
+        // и закрывает остальные, из-за чего пул gateway получает разорванные соединения
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(clients * 2));
+        HttpServer stub = stubServer(clients, serverDelayMs);
+        Map<String, Object> modes = new LinkedHashMap<>();
+        try {
+            System.out.printf("clients=%d, requests per client=%d, server delay=%d ms%n",
+                    clients, requests, serverDelayMs);
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                String mode = virtualThreads ? "virtual" : "platform";
+                Map<String, Object> summary = run(gatewayJar, logDir.resolve("proxy-gateway-" + mode + ".log"),
+                        stub.getAddress().getPort(), virtualThreads, clients, requests);
+                System.out.printf("%-8s threads: %s req/s, p50 %s ms, p99 %s ms, errors %s%n", mode,
+                        summary.get("throughput"), summary.get("p50"), summary.get("p99"), summary.get("errors"));
+                modes.put(mode, summary);
+            }
+        } finally {
+            stub.stop(0);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("clients", clients);
+        json.put("requestsPerClient", requests);
+        json.put("serverDelayMs", serverDelayMs);
+        json.put("modes", modes);
+        ShareItHttp.JSON.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), json);
+        System.out.println("Result written to " + result.toAbsolutePath());
+    }
+
+    private static HttpServer stubServer(int clients, long delayMs) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), clients * 2);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER_JSON.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER_JSON);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    // Пул соединений gateway расширен, чтобы ограничением была модель потоков, а не число соединений
+    private static Map<String, Object> run(String gatewayJar, Path log, int stubPort, boolean virtualThreads,
+                                           int clients, int requests) throws Exception {
+        int port = LoadTest.freePort();
+        Process gateway = LoadTest.start(gatewayJar, log, List.of(
+                "--server.port=" + port,
+                "--server.url=http://localhost:" + stubPort,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shareit.gateway.http.max-total=" + clients,
+                "--shareit.gateway.http.max-per-route=" + clients,
+                "--shareit.gateway.http.connection-request-timeout=60s",
+                "--shareit.access-log.enabled=false",
+                "--logging.level.root=WARN"));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ShareItHttp http = new ShareItHttp("http://localhost:" + port, executor);
+            LoadTest.awaitHealthy(http, gateway);
+            load(http, executor, clients, Math.max(1, requests / 10)); // Прогрев
+            return load(http, executor, clients, requests);
+        } finally {
+            gateway.destroy();
+            gateway.waitFor();
+        }
+    }
+
+    private static Map<String, Object> load(ShareItHttp http, ExecutorService executor, int clients, int requests)
+            throws Exception {
+        long start = System.nanoTime();
+        List<Future<LatencyStats>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                LatencyStats stats = new LatencyStats();
+                for (int j = 0; j < requests; j++) {
+                    long sent = System.nanoTime();
+                    boolean error;
+                    try {
+                        HttpResponse<String> response = http.send("GET", "/users/1", null, null);
+                        error = response.statusCode() != 200;
+                    } catch (IOException e) {
+                        error = true;
+                    }
+                    stats.record(System.nanoTime() - sent, error);
+                }
+                return stats;
+            }));
+        }
+        LatencyStats total = new LatencyStats();
+        for (Future<LatencyStats> future : futures) {
+            total.merge(future.get());
+        }
+        return total.summary((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import java.util.List;
+
+// Идентификаторы созданных данных, из которых нагрузка выбирает параметры запросов
+record SeedData(List<Long> userIds, List<Long> itemIds, List<Long> itemOwnerIds, List<Long> bookingIds,
+                List<Long> bookingBookerIds) {
+}
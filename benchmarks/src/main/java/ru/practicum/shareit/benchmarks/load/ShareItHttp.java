@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+// HTTP-клиент нагрузочного теста: JSON-запросы к gateway или shareit-server с заголовком X-Sharer-User-Id
+class ShareItHttp {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    ShareItHttp(String baseUrl, ExecutorService executor) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    HttpResponse<String> send(String method, String path, Long userId, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            request.header(USER_HEADER, userId.toString());
+        }
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Запрос, который обязан завершиться успешно; возвращает разобранное тело ответа
+    JsonNode sendOk(String method, String path, Long userId, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(method, path, userId, body);
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(method + " " + path + " -> " + response.statusCode() + ": "
+                    + response.body());
+        }
+        return JSON.readTree(response.body());
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Смешанная нагрузка через gateway по замкнутой модели: каждый клиент отправляет следующий запрос
+// сразу после ответа на предыдущий. Сценарий выбирается случайно с учетом веса
+class TrafficDriver {
+
+    private final ShareItHttp gateway;
+    private final ExecutorService executor;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    TrafficDriver(ShareItHttp gateway, ExecutorService executor, SeedData data) {
+        this.gateway = gateway;
+        this.executor = executor;
+        this.scenarios = scenarios(data);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    // Задержки по сценариям за указанное время; ключи отсортированы для стабильного отчета
+    Map<String, LatencyStats> run(int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<String, LatencyStats>>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            long seed = i;
+            futures.add(executor.submit(() -> client(new Random(seed), deadline)));
+        }
+
+        Map<String, LatencyStats> merged = new TreeMap<>();
+        for (Future<Map<String, LatencyStats>> future : futures) {
+            future.get().forEach((label, stats) -> merged.computeIfAbsent(label, l -> new LatencyStats())
+                    .merge(stats));
+        }
+        return merged;
+    }
+
+    private Map<String, LatencyStats> client(Random random, long deadline) throws InterruptedException {
+        Map<String, LatencyStats> stats = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = pick(random);
+            Call call = scenario.call().apply(random);
+            long sent = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<String> response = gateway.send(call.method(), call.path(), call.userId(),
+                        call.body());
+                error = response.statusCode() >= 400 && response.statusCode() != scenario.allowedStatus();
+            } catch (IOException e) {
+                error = true;
+            }
+            stats.computeIfAbsent(scenario.label(), l -> new LatencyStats()).record(System.nanoTime() - sent, error);
+        }
+        return stats;
+    }
+
+    private Scenario pick(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            point -= scenario.weight();
+            if (point < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Сценарий не выбран");
+    }
+
+    private static List<Scenario> scenarios(SeedData data) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("GET /items/{id}", 20, 0,
+                random -> Call.get("/items/" + pick(random, data.itemIds()), pick(random, data.userIds()))));
+        scenarios.add(new Scenario("GET /items", 8, 0,
+                random -> Call.get("/items", pick(random, data.itemOwnerIds()))));
+        scenarios.add(new Scenario("GET /items/search", 12, 0,
+                random -> Call.get("/items/search?text=" + word(random), pick(random, data.userIds()))));
+        scenarios.add(new Scenario("GET /items/search (free)", 6, 0, random -> {
+            LocalDateTime start = now.plusHours(random.nextInt(60 * 24));
+            return Call.get("/items/search?text=" + word(random) + "&start=" + start + "&end="
+                    + start.plusHours(1 + random.nextInt(72)), pick(random, data.userIds()));
+        }));
+        scenarios.add(new Scenario("GET /items/{id}/availability", 8, 0,
+                random -> Call.get("/items/" + pick(random, data.itemIds()) + "/availability?from=" + now
+                        + "&to=" + now.plusDays(14), pick(random, data.userIds()))));
+        scenarios.add(new Scenario("GET /bookings", 10, 0,
+                random -> Call.get("/bookings?state=ALL", pick(random, data.userIds()))));
+        scenarios.add(new Scenario("GET /bookings/bookings/owner", 8, 0,
+                random -> Call.get("/bookings/bookings/owner?state=FUTURE", pick(random, data.itemOwnerIds()))));
+        scenarios.add(new Scenario("GET /bookings/{id}", 10, 0, random -> {
+            int index = random.nextInt(data.bookingIds().size());
+            return Call.get("/bookings/" + data.bookingIds().get(index), data.bookingBookerIds().get(index));
+        }));
+        scenarios.add(new Scenario("GET /requests", 6, 0,
+                random -> Call.get("/requests", pick(random, data.userIds()))));
+        scenarios.add(new Scenario("GET /requests/all", 6, 0,
+                random -> Call.get("/requests/all?size=20", pick(random, data.userIds()))));
+        // Новые бронирования после засеянного периода; пересечения с чужими бронированиями дают 409
+        scenarios.add(new Scenario("POST /bookings", 6, 409, random -> {
+            int index = random.nextInt(data.itemIds().size());
+            Long ownerId = data.itemOwnerIds().get(index);
+            Long bookerId = pick(random, data.userIds());
+            if (bookerId.equals(ownerId)) {
+                bookerId = data.userIds().get((data.userIds().indexOf(bookerId) + 1) % data.userIds().size());
+            }
+            LocalDateTime start = now.plusDays(61).plusHours(random.nextInt(300 * 24));
+            return new Call("POST", "/bookings", bookerId, Map.of("itemId", data.itemIds().get(index),
+                    "start", start.toString(), "end", start.plusHours(1 + random.nextInt(48)).toString()));
+        }));
+        return scenarios;
+    }
+
+    private static Long pick(Random random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String word(Random random) {
+        return DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+    }
+
+    // allowedStatus - ожидаемый ответ с ошибкой, который не считается сбоем (0 - такого нет)
+    private record Scenario(String label, int weight, int allowedStatus, Function<Random, Call> call) {
+    }
+
+    private record Call(String method, String path, Long userId, Object body) {
+        static Call get(String path, Long userId) {
+            return new Call("GET", path, userId, null);
+        }
+    }
+}
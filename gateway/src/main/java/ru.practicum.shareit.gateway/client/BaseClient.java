@@ -1,15 +1,36 @@
 package ru.practicum.shareit.gateway.client;
 
+import io.micrometer.observation.Observation;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 
 public class BaseClient {
+    // Заголовки соединения gateway - shareit-server, которые не передаются клиенту; длину тела выставит Spring
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length");
+
+    private static final ClientRequestObservationConvention DEFAULT_OBSERVATION_CONVENTION =
+            new DefaultClientRequestObservationConvention();
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -28,6 +49,66 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    // Потоковый GET в NDJSON: тело ответа shareit-server переписывается клиенту по мере получения,
+    // без буферизации в памяти. Соединение возвращается в пул после записи тела.
+    // JSON в Accept нужен для ошибок, которые shareit-server возвращает до начала потока.
+    // Запрос идет в обход RestTemplate, поэтому наблюдение http.client.requests ведется здесь, с реестром
+    // и соглашением RestTemplate: от отправки запроса до конца передачи тела, а не до получения заголовков
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId,
+                                                           @Nullable Map<String, Object> parameters) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+
+        ClientHttpRequest request;
+        try {
+            request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        } catch (IOException e) {
+            throw ioError(uri, e);
+        }
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+
+        ClientRequestObservationContext context = new ClientRequestObservationContext(request);
+        context.setUriTemplate(path);
+        Observation observation = ClientHttpObservationDocumentation.HTTP_CLIENT_EXCHANGES.observation(
+                rest.getObservationConvention(), DEFAULT_OBSERVATION_CONVENTION, () -> context,
+                rest.getObservationRegistry()).start();
+
+        ClientHttpResponse response = null;
+        try {
+            response = request.execute();
+            context.setResponse(response);
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+            copyHeaders(response.getHeaders(), responseBuilder);
+            ClientHttpResponse body = response;
+            return responseBuilder.body(out -> {
+                try (body) {
+                    body.getBody().transferTo(out);
+                } catch (IOException | RuntimeException e) {
+                    observation.error(e);
+                    throw e;
+                } finally {
+                    observation.stop();
+                }
+            });
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            ResourceAccessException exception = ioError(uri, e);
+            observation.error(exception);
+            observation.stop();
+            throw exception;
+        }
+    }
+
+    private static ResourceAccessException ioError(URI uri, IOException e) {
+        return new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -77,20 +158,22 @@ public class BaseClient {
     }
 
     //Здесь происходит отправка
+    // Тело ответа не разбирается: байты shareit-server передаются клиенту как есть вместе с заголовками
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -103,17 +186,26 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status, @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (headers != null) {
+            copyHeaders(headers, responseBuilder);
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    private static void copyHeaders(HttpHeaders headers, ResponseEntity.BodyBuilder responseBuilder) {
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                responseBuilder.header(name, values.toArray(String[]::new));
+            }
+        });
+    }
+}
@@ -4,13 +4,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.dto.booking.BookingCreateDto;
 import ru.practicum.shareit.gateway.dto.booking.BookingState;
 
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -19,11 +21,12 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder,
+                          ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -32,6 +35,10 @@ public class BookingClient extends BaseClient {
         return post("", userId, null, createDto);
     }
 
+    public ResponseEntity<Object> addBookings(Long userId, List<BookingCreateDto> createDtos) {
+        return post("/batch", userId, null, createDtos);
+    }
+
     public ResponseEntity<Object> updateBooking(Long userId, Long bookingId, Boolean approved) {
         String path = "/" + bookingId + "?approved=" + approved;
         return patch(path, userId, null, null);
@@ -42,21 +49,40 @@ public class BookingClient extends BaseClient {
         return get(path, null, null);
     }
 
-    public ResponseEntity<Object> getAllBookings(BookingState state, Long requesterId) {
-        String path = "";
-        Map<String, Object> parameters = Map.of("state", state);
+    public ResponseEntity<Object> getAllBookings(BookingState state, Long requesterId, Integer from, Integer size) {
+        String path = "?state={state}&from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
         return get(path, requesterId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingsByUser(Long userId, BookingState state, Long requesterId) {
-        String path = "/users/" + userId + "/bookings";
-        Map<String, Object> parameters = Map.of("state", state);
+    public ResponseEntity<Object> getAllBookingsByUser(Long userId, BookingState state, Long requesterId,
+                                                       Integer from, Integer size) {
+        String path = "/users/" + userId + "/bookings?state={state}&from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
         return get(path, requesterId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingsForOwnerItems(Long ownerId, BookingState state) {
-        String path = "/bookings/owner";
-        Map<String, Object> parameters = Map.of("state", state);
+    public ResponseEntity<Object> getAllBookingsForOwnerItems(Long ownerId, BookingState state,
+                                                              Integer from, Integer size) {
+        String path = "/bookings/owner?state={state}&from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
         return get(path, ownerId, parameters);
     }
+
+    // Потоковая выгрузка всех бронирований вещей владельца в NDJSON
+    public ResponseEntity<StreamingResponseBody> exportBookingsForOwnerItems(Long ownerId) {
+        return stream("/owner/export", ownerId, null);
+    }
 }
\ No newline at end of file
@@ -3,13 +3,16 @@ package ru.practicum.shareit.gateway.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.dto.item.CommentDto;
 import ru.practicum.shareit.gateway.dto.item.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 
@@ -19,10 +22,11 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder,
+                       ClientHttpRequestFactory requestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> requestFactory)
                 .build());
     }
 
@@ -30,6 +34,10 @@ public class ItemClient extends BaseClient {
         return post("", userId, null, itemDto);
     }
 
+    public ResponseEntity<Object> addItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, null, itemDtos);
+    }
+
     public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDto commentDto) {
         String path = "/" + itemId + "/comment";
         return post(path, userId, null, commentDto);
@@ -45,9 +53,27 @@ public class ItemClient extends BaseClient {
         return get(path, null, null);
     }
 
+    public ResponseEntity<Object> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        String path = "/" + itemId + "/availability?from={from}&to={to}";
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get(path, null, parameters);
+    }
+
     public ResponseEntity<Object> getAllItems(Long userId) {
-        Map<String, Object> parameters = Map.of("userId", userId);
-        return get("", null, parameters);
+        return get("", userId);
+    }
+
+    // Потоковая выгрузка всех вещей пользователя в NDJSON
+    public ResponseEntity<StreamingResponseBody> exportItems(Long userId) {
+        return stream("/export", userId, null);
+    }
+
+    // Потоковая выгрузка комментариев ко всем вещам пользователя в NDJSON
+    public ResponseEntity<StreamingResponseBody> exportComments(Long userId) {
+        return stream("/comments/export", userId, null);
     }
 
     public ResponseEntity<Object> getItemsByOwnerId(Long ownerId) {
@@ -64,9 +90,25 @@ public class ItemClient extends BaseClient {
         return delete("", null, null);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        String path = "/search";
-        Map<String, Object> parameters = Map.of("text", text);
+    public ResponseEntity<Object> searchItems(String text, LocalDateTime start, LocalDateTime end,
+                                              Integer from, Integer size) {
+        if (start != null) {
+            String path = "/search?text={text}&start={start}&end={end}&from={from}&size={size}";
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "start", start,
+                    "end", end,
+                    "from", from,
+                    "size", size
+            );
+            return get(path, null, parameters);
+        }
+        String path = "/search?text={text}&from={from}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
         return get(path, null, parameters);
     }
 }
\ No newline at end of file
@@ -4,11 +4,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.dto.request.RequestDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -17,10 +18,11 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder,
+                          ClientHttpRequestFactory requestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> requestFactory)
                 .build());
     }
 
@@ -36,9 +38,17 @@ public class RequestClient extends BaseClient {
     }
 
     // Получение всех запросов, кроме тех, что созданы текущим пользователем
-    public ResponseEntity<Object> getAllRequestsExcludingUser(Long userId) {
-        String path = "/all";
-        Map<String, Object> parameters = Map.of("userId", userId);
+    public ResponseEntity<Object> getAllRequestsExcludingUser(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                              Integer size) {
+        if (afterCreated == null) {
+            return get("/all?size={size}", userId, Map.of("size", size));
+        }
+        String path = "/all?afterCreated={afterCreated}&afterId={afterId}&size={size}";
+        Map<String, Object> parameters = Map.of(
+                "afterCreated", afterCreated,
+                "afterId", afterId,
+                "size", size
+        );
         return get(path, userId, parameters);
     }
 
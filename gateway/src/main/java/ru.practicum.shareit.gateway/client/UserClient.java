@@ -4,20 +4,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.dto.user.UserDto;
 
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${server.url}") String serverUrl, RestTemplateBuilder builder,
+                       ClientHttpRequestFactory requestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> requestFactory)
                 .build());
     }
 
@@ -38,9 +42,20 @@ public class UserClient extends BaseClient {
         return get(path, userId, null);
     }
 
-    // Получение всех пользователей
-    public ResponseEntity<Object> getAllUsers() {
-        return get("", null, null);
+    // Получение пользователей по возрастанию ID после afterId
+    public ResponseEntity<Object> getAllUsers(Long afterId, Integer limit) {
+        if (afterId != null) {
+            return get("?afterId={afterId}&limit={limit}", null, Map.of("afterId", afterId, "limit", limit));
+        }
+        return get("?limit={limit}", null, Map.of("limit", limit));
+    }
+
+    // Потоковая выгрузка пользователей после afterId в NDJSON
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(Long afterId) {
+        if (afterId != null) {
+            return stream("?afterId={afterId}", null, Map.of("afterId", afterId));
+        }
+        return stream("", null, null);
     }
 
     // Удаление пользователя по ID
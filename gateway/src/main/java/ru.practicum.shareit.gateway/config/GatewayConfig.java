@@ -1,8 +1,22 @@
 package ru.practicum.shareit.gateway.config;
 
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
@@ -11,22 +25,76 @@ import java.util.Collections;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class GatewayConfig {
 
+    // Общий пул соединений для всех клиентов shareit-server
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager connectionManager(HttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+    }
+
+    // Метрики пула: httpcomponents.httpclient.pool.{total.max,total.connections,total.pending,route.max}
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder connectionPoolMetrics(
+            PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                          HttpClientProperties properties) {
+        TimeValue defaultKeepAlive = TimeValue.of(properties.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                // Keep-Alive из ответа сервера, но не дольше значения из настроек
+                .setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+                    @Override
+                    public TimeValue getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                        TimeValue duration = super.getKeepAliveDuration(response, context);
+                        return TimeValue.isPositive(duration) && duration.compareTo(defaultKeepAlive) < 0
+                                ? duration
+                                : defaultKeepAlive;
+                    }
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    // Фабрика запросов, общая для RestTemplate всех клиентов
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        // Создаем RestTemplate с поддержкой буферизации запросов/ответов
-        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        // Создаем RestTemplate поверх общего пула соединений
+        RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory);
 
         // Добавляем MessageConverters для поддержки JSON
         restTemplate.getMessageConverters().add(new MappingJackson2HttpMessageConverter());
 
-        // Логируем только основную информацию о запросе
+        // Исходящие запросы логируются только на уровне DEBUG; в обычном режиме их видно в журнале доступа
         restTemplate.setInterceptors(Collections.singletonList((request, body, execution) -> {
-            log.info("HTTP {} request to {}", request.getMethod(), request.getURI());
+            log.debug("HTTP {} request to {}", request.getMethod(), request.getURI());
             return execution.execute(request, body);
         }));
 
         return restTemplate;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Настройки общего пула HTTP-соединений от gateway к shareit-server
+@Data
+@ConfigurationProperties(prefix = "shareit.gateway.http")
+public class HttpClientProperties {
+
+    // Максимум соединений в пуле
+    private int maxTotal = 200;
+
+    // Максимум соединений на один маршрут (весь трафик gateway идет на один хост shareit-server)
+    private int maxPerRoute = 200;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // Ожидание ответа сервера
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    // Ожидание свободного соединения из пула
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    // Время удержания соединения, если сервер не прислал заголовок Keep-Alive
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // Закрытие соединений, простаивающих дольше этого времени
+    private Duration idleEviction = Duration.ofSeconds(60);
+
+    // Предельное время жизни соединения
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    // Проверка соединения перед повторным использованием после простоя
+    private Duration validateAfterInactivity = Duration.ofSeconds(5);
+}
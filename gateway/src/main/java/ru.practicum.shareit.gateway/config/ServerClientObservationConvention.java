@@ -0,0 +1,30 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+// Метрика http.client.requests для запросов к shareit-server. Клиенты передают в RestTemplate уже
+// собранный путь ("/" + id), поэтому тег uri строится по пути запроса с заменой числовых сегментов на {id}:
+// /items/5/availability -> /items/{id}/availability. Иначе каждый ID давал бы отдельный таймер
+@Component
+public class ServerClientObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        if (context.getCarrier() == null) {
+            return super.uri(context);
+        }
+        String path = context.getCarrier().getURI().getPath();
+        return KeyValue.of("uri", normalize(path == null || path.isEmpty() ? "/" : path));
+    }
+
+    static String normalize(String path) {
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
@@ -1,71 +1,107 @@
 package ru.practicum.shareit.gateway.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.gateway.client.BookingClient;
 import ru.practicum.shareit.gateway.dto.booking.BookingCreateDto;
 import ru.practicum.shareit.gateway.dto.booking.BookingState;
+import ru.practicum.shareit.gateway.validation.BatchValidator;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class BookingController {
 
     private final BookingClient bookingClient;
+    private final BatchValidator batchValidator;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> addBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestBody @Valid BookingCreateDto createDto) {
-        log.info("POST-запрос на создание бронирования: {}, userId={}", createDto, userId);
+        log.debug("POST-запрос на создание бронирования: {}, userId={}", createDto, userId);
         return bookingClient.addBooking(userId, createDto);
     }
 
+    // Пакетное бронирование: пакет проверяется целиком, сервер возвращает результат по каждому элементу
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<BookingCreateDto> createDtos) {
+        log.debug("POST-запрос на пакетное создание бронирований: size={}, userId={}", createDtos.size(), userId);
+        batchValidator.validate(createDtos);
+        return bookingClient.addBookings(userId, createDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBooking(
             @PathVariable Long bookingId,
             @RequestParam Boolean approved,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("PATCH-запрос на обновление бронирования: bookingId={}, approved={}, userId={}",
+        log.debug("PATCH-запрос на обновление бронирования: bookingId={}, approved={}, userId={}",
                 bookingId, approved, userId);
         return bookingClient.updateBooking(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBookingById(@PathVariable Long bookingId) {
-        log.info("GET-запрос на получение бронирования: bookingId={}", bookingId);
+        log.debug("GET-запрос на получение бронирования: bookingId={}", bookingId);
         return bookingClient.getBookingById(bookingId);
     }
 
     @GetMapping
     public ResponseEntity<Object> getAllBookings(
             @RequestParam(required = false, defaultValue = "ALL") BookingState state,
-            @RequestHeader("X-Sharer-User-Id") Long requesterId) {
-        log.info("GET-запрос на получение всех бронирований: state={}, requesterId={}", state, requesterId);
-        return bookingClient.getAllBookings(state, requesterId);
+            @RequestHeader("X-Sharer-User-Id") Long requesterId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive @Max(1000) Integer size) {
+        log.debug("GET-запрос на получение всех бронирований: state={}, requesterId={}, from={}, size={}",
+                state, requesterId, from, size);
+        return bookingClient.getAllBookings(state, requesterId, from, size);
     }
 
     @GetMapping("/users/{userId}/bookings")
     public ResponseEntity<Object> getAllBookingsByUser(
             @PathVariable Long userId,
             @RequestHeader("X-Sharer-User-Id") Long requesterId,
-            @RequestParam(required = false, defaultValue = "ALL") BookingState state) {
-        log.info("GET-запрос на получение бронирований пользователя: userId={}, state={}, requesterId={}",
-                userId, state, requesterId);
-        return bookingClient.getAllBookingsByUser(userId, state, requesterId);
+            @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive @Max(1000) Integer size) {
+        log.debug("GET-запрос на получение бронирований пользователя: userId={}, state={}, requesterId={}, " +
+                "from={}, size={}", userId, state, requesterId, from, size);
+        return bookingClient.getAllBookingsByUser(userId, state, requesterId, from, size);
     }
 
     @GetMapping("/bookings/owner")
     public ResponseEntity<Object> getAllBookingsForOwnerItems(
             @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive @Max(1000) Integer size) {
+        log.debug("GET-запрос на получение бронирований для вещей владельца: state={}, ownerId={}, from={}, size={}",
+                state, ownerId, from, size);
+        return bookingClient.getAllBookingsForOwnerItems(ownerId, state, from, size);
+    }
+
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsForOwnerItems(
             @RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        log.info("GET-запрос на получение бронирований для вещей владельца: state={}, ownerId={}", state, ownerId);
-        return bookingClient.getAllBookingsForOwnerItems(ownerId, state);
+        log.debug("GET-запрос на выгрузку бронирований для вещей владельца: ownerId={}", ownerId);
+        return bookingClient.exportBookingsForOwnerItems(ownerId);
     }
 }
\ No newline at end of file
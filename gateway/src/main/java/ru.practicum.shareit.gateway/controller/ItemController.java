@@ -1,42 +1,66 @@
 package ru.practicum.shareit.gateway.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.gateway.client.ItemClient;
 import ru.practicum.shareit.gateway.dto.item.CommentDto;
 import ru.practicum.shareit.gateway.dto.item.ItemDto;
+import ru.practicum.shareit.gateway.exception.BadRequestException;
+import ru.practicum.shareit.gateway.validation.BatchValidator;
 import ru.practicum.shareit.gateway.validation.OnCreate;
 import ru.practicum.shareit.gateway.validation.OnUpdate;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class ItemController {
 
     private final ItemClient itemClient;
+    private final BatchValidator batchValidator;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> addItem(
             @RequestBody @Validated(OnCreate.class) ItemDto dto,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("POST-запрос на добавление вещи: {}, userId={}", dto, userId);
+        log.debug("POST-запрос на добавление вещи: {}, userId={}", dto, userId);
         return itemClient.addItem(userId, dto);
     }
 
+    // Пакетное добавление: пакет проверяется целиком, сервер возвращает результат по каждому элементу
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addItems(
+            @RequestBody List<ItemDto> dtos,
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("POST-запрос на пакетное добавление вещей: size={}, userId={}", dtos.size(), userId);
+        batchValidator.validate(dtos, OnCreate.class);
+        return itemClient.addItems(userId, dtos);
+    }
+
     @PostMapping("/{itemId}/comment")
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> addComment(
             @PathVariable Long itemId,
             @RequestBody @Valid CommentDto commentDto,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("POST-запрос на добавление комментария: itemId={}, comment={}, userId={}", itemId, commentDto, userId);
+        log.debug("POST-запрос на добавление комментария: itemId={}, comment={}, userId={}",
+                itemId, commentDto, userId);
         return itemClient.addComment(userId, itemId, commentDto);
     }
 
@@ -45,45 +69,83 @@ public class ItemController {
             @PathVariable Long itemId,
             @RequestBody @Validated(OnUpdate.class) ItemDto dto,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("PATCH-запрос на обновление вещи: itemId={}, item={}, userId={}", itemId, dto, userId);
+        log.debug("PATCH-запрос на обновление вещи: itemId={}, item={}, userId={}", itemId, dto, userId);
         return itemClient.updateItem(userId, itemId, dto);
     }
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItemById(@PathVariable Long itemId) {
-        log.info("GET-запрос на получение вещи: itemId={}", itemId);
+        log.debug("GET-запрос на получение вещи: itemId={}", itemId);
         return itemClient.getItemById(itemId);
     }
 
+    // Свободные окна вещи в интервале [from, to]
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("GET-запрос на получение свободных окон вещи: itemId={}, from={}, to={}", itemId, from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Параметр from должен быть раньше to");
+        }
+        return itemClient.getItemAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-запрос на получение всех вещей пользователя: userId={}", userId);
+        log.debug("GET-запрос на получение всех вещей пользователя: userId={}", userId);
         return itemClient.getAllItems(userId);
     }
 
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("GET-запрос на выгрузку вещей пользователя: userId={}", userId);
+        return itemClient.exportItems(userId);
+    }
+
+    @GetMapping(path = "/comments/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportComments(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("GET-запрос на выгрузку комментариев к вещам пользователя: userId={}", userId);
+        return itemClient.exportComments(userId);
+    }
+
     @GetMapping("/owner/{ownerId}")
     public ResponseEntity<Object> getItemsByOwnerId(@PathVariable Long ownerId) {
-        log.info("GET-запрос на получение вещей владельца: ownerId={}", ownerId);
+        log.debug("GET-запрос на получение вещей владельца: ownerId={}", ownerId);
         return itemClient.getItemsByOwnerId(ownerId);
     }
 
     @DeleteMapping("/{itemId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Object> deleteItemById(@PathVariable Long itemId) {
-        log.info("DELETE-запрос на удаление вещи: itemId={}", itemId);
+        log.debug("DELETE-запрос на удаление вещи: itemId={}", itemId);
         return itemClient.deleteItemById(itemId);
     }
 
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Object> deleteAllItems() {
-        log.info("DELETE-запрос на удаление всех вещей");
+        log.debug("DELETE-запрос на удаление всех вещей");
         return itemClient.deleteAllItems();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String text) {
-        log.info("GET-запрос на поиск вещей: text={}", text);
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchItems(
+            @RequestParam("text") String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive @Max(1000) Integer size) {
+        log.debug("GET-запрос на поиск вещей: text={}, start={}, end={}, from={}, size={}", text, start, end, from,
+                size);
+        // Фильтр занятости задается парой start/end
+        if ((start == null) != (end == null)) {
+            throw new BadRequestException("Параметры start и end должны передаваться вместе");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new BadRequestException("Параметр start должен быть раньше end");
+        }
+        return itemClient.searchItems(text, start, end, from, size);
     }
 }
\ No newline at end of file
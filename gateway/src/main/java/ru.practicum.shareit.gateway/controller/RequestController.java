@@ -1,17 +1,25 @@
 package ru.practicum.shareit.gateway.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.gateway.client.RequestClient;
 import ru.practicum.shareit.gateway.dto.request.RequestDto;
+import ru.practicum.shareit.gateway.exception.BadRequestException;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/requests")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class RequestController {
 
     private final RequestClient requestClient;
@@ -21,7 +29,7 @@ public class RequestController {
     public ResponseEntity<Object> createRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody RequestDto requestDto) {
-        log.info("POST-запрос на создание запроса: {}, userId={}", requestDto, userId);
+        log.debug("POST-запрос на создание запроса: {}, userId={}", requestDto, userId);
         return requestClient.createRequest(userId, requestDto);
     }
 
@@ -29,23 +37,32 @@ public class RequestController {
     @GetMapping
     public ResponseEntity<Object> getAllRequestsByUser(
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-запрос на получение всех запросов пользователя: userId={}", userId);
+        log.debug("GET-запрос на получение всех запросов пользователя: userId={}", userId);
         return requestClient.getAllRequestsByUser(userId);
     }
 
     // Получение всех запросов, кроме тех, что созданы текущим пользователем
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequestsExcludingUser(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-запрос на получение всех запросов, кроме запросов пользователя: userId={}", userId);
-        return requestClient.getAllRequestsExcludingUser(userId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime afterCreated,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "10") @Positive @Max(1000) Integer size) {
+        log.debug("GET-запрос на получение всех запросов, кроме запросов пользователя: userId={}, afterCreated={}, " +
+                "afterId={}, size={}", userId, afterCreated, afterId, size);
+        // Курсор задается парой (created, id) последнего запроса предыдущей страницы
+        if ((afterCreated == null) != (afterId == null)) {
+            throw new BadRequestException("Параметры afterCreated и afterId должны передаваться вместе");
+        }
+        return requestClient.getAllRequestsExcludingUser(userId, afterCreated, afterId, size);
     }
 
     // Получение одного запроса по ID
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getRequestById(
             @PathVariable Long requestId) {
-        log.info("GET-запрос на получение запроса: requestId={}", requestId);
+        log.debug("GET-запрос на получение запроса: requestId={}", requestId);
         return requestClient.getRequestById(requestId);
     }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.gateway.controller;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.gateway.client.UserClient;
 import ru.practicum.shareit.gateway.dto.user.UserDto;
 import ru.practicum.shareit.gateway.validation.OnCreate;
@@ -15,46 +20,56 @@ import ru.practicum.shareit.gateway.validation.OnUpdate;
 @RequestMapping("/users")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class UserController {
 
     private final UserClient userClient;
 
     @PostMapping
     public ResponseEntity<Object> addUser(@RequestBody @Validated(OnCreate.class) UserDto dto) {
-        log.info("POST-запрос на создание пользователя: {}", dto);
+        log.debug("POST-запрос на создание пользователя: {}", dto);
         return userClient.addUser(dto);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<Object> updateUser(
             @PathVariable Long id, @RequestBody @Validated(OnUpdate.class) UserDto dto) {
-        log.info("PATCH-запрос на обновление пользователя: id={}, dto={}", id, dto);
+        log.debug("PATCH-запрос на обновление пользователя: id={}, dto={}", id, dto);
         return userClient.updateUser(id, dto);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Object> getUserById(@PathVariable Long id) {
-        log.info("GET-запрос на получение пользователя: id={}", id);
+        log.debug("GET-запрос на получение пользователя: id={}", id);
         return userClient.getUserById(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
-        log.info("GET-запрос на получение всех пользователей");
-        return userClient.getAllUsers();
+    public ResponseEntity<Object> getAllUsers(
+            @RequestParam(required = false) @PositiveOrZero Long afterId,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer limit) {
+        log.debug("GET-запрос на получение пользователей: afterId={}, limit={}", afterId, limit);
+        return userClient.getAllUsers(afterId, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(
+            @RequestParam(required = false) @PositiveOrZero Long afterId) {
+        log.debug("GET-запрос на потоковую выгрузку пользователей: afterId={}", afterId);
+        return userClient.streamAllUsers(afterId);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Object> deleteUserById(@PathVariable Long id) {
-        log.info("DELETE-запрос на удаление пользователя: id={}", id);
+        log.debug("DELETE-запрос на удаление пользователя: id={}", id);
         return userClient.deleteUserById(id);
     }
 
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<Object> deleteAllUsers() {
-        log.info("DELETE-запрос на удаление всех пользователей");
+        log.debug("DELETE-запрос на удаление всех пользователей");
         return userClient.deleteAllUsers();
     }
 }
\ No newline at end of file
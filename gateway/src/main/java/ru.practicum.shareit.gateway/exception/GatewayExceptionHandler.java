@@ -1,5 +1,6 @@
 package ru.practicum.shareit.gateway.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -24,6 +25,13 @@ public class GatewayExceptionHandler {
         return new ErrorResponse("Некорректные данные", errorMessage.toString());
     }
 
+    // Обработка ошибок валидации параметров запроса
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleConstraintViolationException(ConstraintViolationException ex) {
+        return new ErrorResponse("Некорректные данные", ex.getMessage());
+    }
+
     // Обработка BadRequestException
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex) {
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.gateway.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.gateway.exception.BadRequestException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+// Проверка пакета за один проход: размер и все элементы сразу.
+// Пакет с ошибками отклоняется целиком, в сообщении перечислены все нарушения в виде "[индекс].поле: текст"
+@Component
+public class BatchValidator {
+
+    private final Validator validator;
+    private final int maxSize;
+
+    public BatchValidator(Validator validator, @Value("${shareit.batch.max-size:1000}") int maxSize) {
+        this.validator = validator;
+        this.maxSize = maxSize;
+    }
+
+    public <T> void validate(List<T> elements, Class<?>... groups) {
+        if (elements == null || elements.isEmpty()) {
+            throw new BadRequestException("Пакет не может быть пустым");
+        }
+        if (elements.size() > maxSize) {
+            throw new BadRequestException("Размер пакета не должен превышать " + maxSize);
+        }
+        StringBuilder errors = new StringBuilder();
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            if (element == null) {
+                errors.append('[').append(i).append("]: элемент не может быть пустым; ");
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(element, groups);
+            int index = i;
+            violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .forEach(violation -> errors.append('[').append(index).append("].")
+                            .append(violation.getPropertyPath())
+                            .append(": ")
+                            .append(violation.getMessage())
+                            .append("; "));
+        }
+        if (!errors.isEmpty()) {
+            throw new BadRequestException(errors.toString());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.gateway.config.ServerClientObservationConvention;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class BaseClientTest {
+
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"User\",\"email\":\"user@example.com\"}";
+
+    private MeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/users"));
+        rest.setObservationRegistry(observationRegistry);
+        rest.setObservationConvention(new ServerClientObservationConvention());
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+    }
+
+    // Успешный ответ передается байт в байт, без разбора JSON
+    @Test
+    void testSuccessfulResponseIsPassedThroughAsBytes() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.add("X-Total-Count", "1");
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertInstanceOf(byte[].class, response.getBody());
+        assertEquals(USER_JSON, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        server.verify();
+    }
+
+    // Ответ с ошибкой сохраняет статус, тело и Content-Type
+    @Test
+    void testErrorResponseKeepsStatusAndContentType() {
+        String error = "{\"error\":\"Не найдено\"}";
+        server.expect(requestTo("http://localhost:9090/users/999"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error.getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<Object> response = client.get("/999");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(error, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // Потоковый ответ переписывается клиенту как есть; JSON в Accept - для ошибок до начала потока
+    @Test
+    void testStreamPassesBodyThrough() throws Exception {
+        String ndjson = USER_JSON + "\n" + USER_JSON + "\n";
+        server.expect(requestTo("http://localhost:9090/users?afterId=5"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-ndjson, application/json"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(ndjson, MediaType.APPLICATION_NDJSON));
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("?afterId={afterId}", 1L,
+                Map.of("afterId", 5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(ndjson, out.toString(StandardCharsets.UTF_8));
+        server.verify();
+    }
+
+    // Потоковый запрос попадает в http.client.requests, таймер останавливается после передачи тела
+    @Test
+    void testStreamIsObservedUntilBodyIsWritten() throws Exception {
+        server.expect(requestTo("http://localhost:9090/users/1/export"))
+                .andRespond(withSuccess(USER_JSON + "\n", MediaType.APPLICATION_NDJSON));
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/1/export", 1L, null);
+        assertTrue(meterRegistry.find("http.client.requests").timers().isEmpty());
+
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        Timer timer = meterRegistry.get("http.client.requests")
+                .tag("uri", "/users/{id}/export")
+                .tag("method", "GET")
+                .tag("status", "200")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    // Пустой ответ (например, на DELETE) остается без тела
+    @Test
+    void testEmptyResponseHasNoBody() {
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.delete("/1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.gateway.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.accesslog.AccessLog;
+import ru.practicum.shareit.accesslog.AccessLogAutoConfiguration;
+import ru.practicum.shareit.gateway.client.UserClient;
+import ru.practicum.shareit.gateway.controller.UserController;
+import ru.practicum.shareit.gateway.dto.user.UserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Фильтр журнала доступа подключается в gateway автоконфигурацией модуля access-log.
+// При нулевой доле выборки успешные быстрые запросы не пишутся, ошибки пишутся всегда
+@WebMvcTest(value = UserController.class, properties = {
+        "shareit.access-log.sample-rate=0",
+        "shareit.access-log.slow-threshold=10s",
+        "logging.level.shareit.access=INFO"})
+@ImportAutoConfiguration(AccessLogAutoConfiguration.class)
+class AccessLogFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserClient userClient;
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(AccessLog.LOGGER_NAME);
+        events = new ListAppender<>();
+        events.start();
+        logger.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(events);
+    }
+
+    @Test
+    void successfulRequest_ShouldBeSampledOut() throws Exception {
+        when(userClient.getUserById(1L)).thenReturn(ResponseEntity.ok(new UserDto(1L, "User", "user@example.com")));
+
+        mockMvc.perform(get("/users/1")).andExpect(status().isOk());
+
+        assertThat(events.list).isEmpty();
+    }
+
+    @Test
+    void errorResponse_ShouldAlwaysBeLogged() throws Exception {
+        when(userClient.getUserById(2L)).thenReturn(ResponseEntity.notFound().build());
+
+        mockMvc.perform(get("/users/2").header("X-Sharer-User-Id", 7)).andExpect(status().isNotFound());
+
+        assertThat(events.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .startsWith("method=GET uri=/users/2 status=404 durationMs=")
+                .endsWith(" userId=7");
+    }
+
+    @Test
+    void rejectedRequest_ShouldBeLoggedWithoutUser() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"\",\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(events.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .startsWith("method=POST uri=/users status=400")
+                .endsWith(" userId=-");
+    }
+}
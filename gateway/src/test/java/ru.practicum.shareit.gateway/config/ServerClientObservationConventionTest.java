@@ -0,0 +1,69 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ServerClientObservationConventionTest {
+
+    private MeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private RestTemplate rest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        rest.setObservationRegistry(observationRegistry);
+        rest.setObservationConvention(new ServerClientObservationConvention());
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    // Запросы к разным ID попадают в один таймер с шаблоном пути
+    @Test
+    void testIdSegmentsAreReplacedInUriTag() {
+        server.expect(requestTo("http://localhost:9090/items/1/availability")).andRespond(withSuccess());
+        server.expect(requestTo("http://localhost:9090/items/2/availability")).andRespond(withSuccess());
+
+        rest.getForEntity("/1/availability", byte[].class);
+        rest.getForEntity("/2/availability", byte[].class);
+
+        assertEquals(2, meterRegistry.get("http.client.requests")
+                .tag("uri", "/items/{id}/availability")
+                .timer()
+                .count());
+    }
+
+    // Путь без ID и с запросом остается как есть, строка запроса в тег не входит
+    @Test
+    void testPathWithoutIdIsKept() {
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        rest.getForEntity("/search?text=drill", byte[].class);
+
+        assertEquals(1, meterRegistry.get("http.client.requests").tag("uri", "/items/search").timer().count());
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("/bookings/{id}", ServerClientObservationConvention.normalize("/bookings/15"));
+        assertEquals("/users/{id}/bookings", ServerClientObservationConvention.normalize("/users/7/bookings"));
+        assertEquals("/items/v2", ServerClientObservationConvention.normalize("/items/v2"));
+    }
+}
@@ -5,24 +5,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.gateway.client.BookingClient;
 import ru.practicum.shareit.gateway.dto.booking.BookingCreateDto;
 import ru.practicum.shareit.gateway.dto.booking.BookingDto;
 import ru.practicum.shareit.gateway.dto.booking.BookingShortDto;
 import ru.practicum.shareit.gateway.dto.booking.BookingState;
+import ru.practicum.shareit.gateway.validation.BatchValidator;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import(BatchValidator.class)
 public class BookingControllerTest {
 
     @Autowired
@@ -113,7 +121,7 @@ public class BookingControllerTest {
         Long requesterId = 1L;
         List<BookingDto> expectedBookings = List.of(new BookingDto(), new BookingDto());
 
-        when(bookingClient.getAllBookings(eq(state), eq(requesterId)))
+        when(bookingClient.getAllBookings(eq(state), eq(requesterId), eq(0), eq(10)))
                 .thenReturn(ResponseEntity.ok(expectedBookings));
 
         mockMvc.perform(get("/bookings")
@@ -123,7 +131,7 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(expectedBookings.size()));
 
-        verify(bookingClient, times(1)).getAllBookings(eq(state), eq(requesterId));
+        verify(bookingClient, times(1)).getAllBookings(eq(state), eq(requesterId), eq(0), eq(10));
     }
 
     // Тест для getAllBookingsByUser
@@ -134,7 +142,7 @@ public class BookingControllerTest {
         BookingState state = BookingState.ALL;
         List<BookingShortDto> expectedBookings = List.of(new BookingShortDto(), new BookingShortDto());
 
-        when(bookingClient.getAllBookingsByUser(eq(userId), eq(state), eq(requesterId)))
+        when(bookingClient.getAllBookingsByUser(eq(userId), eq(state), eq(requesterId), eq(0), eq(10)))
                 .thenReturn(ResponseEntity.ok(expectedBookings));
 
         mockMvc.perform(get("/bookings/users/{userId}/bookings", userId)
@@ -144,7 +152,7 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(expectedBookings.size()));
 
-        verify(bookingClient, times(1)).getAllBookingsByUser(eq(userId), eq(state), eq(requesterId));
+        verify(bookingClient, times(1)).getAllBookingsByUser(eq(userId), eq(state), eq(requesterId), eq(0), eq(10));
     }
 
     // Тест для getAllBookingsForOwnerItems
@@ -154,7 +162,7 @@ public class BookingControllerTest {
         BookingState state = BookingState.ALL;
         List<BookingShortDto> expectedBookings = List.of(new BookingShortDto(), new BookingShortDto());
 
-        when(bookingClient.getAllBookingsForOwnerItems(eq(ownerId), eq(state)))
+        when(bookingClient.getAllBookingsForOwnerItems(eq(ownerId), eq(state), eq(0), eq(10)))
                 .thenReturn(ResponseEntity.ok(expectedBookings));
 
         mockMvc.perform(get("/bookings/bookings/owner")
@@ -164,6 +172,86 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(expectedBookings.size()));
 
-        verify(bookingClient, times(1)).getAllBookingsForOwnerItems(eq(ownerId), eq(state));
+        verify(bookingClient, times(1)).getAllBookingsForOwnerItems(eq(ownerId), eq(state), eq(0), eq(10));
     }
-}
\ No newline at end of file
+
+    // Размер страницы ограничен сверху во всех списках бронирований
+    @Test
+    void testGetBookings_InvalidSize() throws Exception {
+        for (String size : List.of("1001", "0")) {
+            mockMvc.perform(get("/bookings").param("size", size).header("X-Sharer-User-Id", 1L))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/bookings/users/{userId}/bookings", 1L).param("size", size)
+                            .header("X-Sharer-User-Id", 1L))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/bookings/bookings/owner").param("size", size).header("X-Sharer-User-Id", 1L))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    // Выгрузка передается клиенту потоком, без разбора NDJSON
+    @Test
+    void testExportBookingsForOwnerItems() throws Exception {
+        String ndjson = "{\"id\":2,\"bookerId\":3}\n{\"id\":1,\"bookerId\":3}\n";
+        StreamingResponseBody body = out -> out.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        when(bookingClient.exportBookingsForOwnerItems(1L))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+
+        verify(bookingClient, times(1)).exportBookingsForOwnerItems(1L);
+    }
+
+    // Пакет бронирований проверяется целиком до обращения к серверу
+    @Test
+    void testAddBookings() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String jsonRequest = """
+            [
+                {"itemId": 1, "start": "%s", "end": "%s"},
+                {"itemId": 2, "start": "%s", "end": "%s"}
+            ]
+            """.formatted(start, start.plusHours(2), start, start.plusHours(3));
+        when(bookingClient.addBookings(eq(1L), anyList()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("index", 0, "status", 201),
+                        Map.of("index", 1, "status", 409))));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].status").value(409));
+
+        verify(bookingClient, times(1)).addBookings(eq(1L), argThat(list -> list.size() == 2));
+    }
+
+    @Test
+    void testAddBookings_InvalidElement() throws Exception {
+        String jsonRequest = """
+            [
+                {"itemId": 1, "start": "%s", "end": "%s"},
+                {"start": "%s", "end": "%s"}
+            ]
+            """.formatted(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonRequest))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("[1].itemId")));
+
+        verifyNoInteractions(bookingClient);
+    }
+}
@@ -5,22 +5,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.gateway.client.ItemClient;
 import ru.practicum.shareit.gateway.dto.item.CommentDto;
 import ru.practicum.shareit.gateway.dto.item.ItemDto;
+import ru.practicum.shareit.gateway.validation.BatchValidator;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
+@Import(BatchValidator.class)
 public class ItemControllerTest {
 
     @Autowired
@@ -246,7 +256,7 @@ public class ItemControllerTest {
 
         Collection<ItemDto> expectedItems = Arrays.asList(item1, item2);
 
-        when(itemClient.searchItems(eq(text)))
+        when(itemClient.searchItems(eq(text), isNull(), isNull(), eq(0), eq(10)))
                 .thenReturn(ResponseEntity.ok(expectedItems));
 
         mockMvc.perform(get("/items/search")
@@ -259,6 +269,145 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[1].id").value(item2.getId()))
                 .andExpect(jsonPath("$[1].name").value(item2.getName()));
 
-        verify(itemClient, times(1)).searchItems(eq(text));
+        verify(itemClient, times(1)).searchItems(eq(text), isNull(), isNull(), eq(0), eq(10));
     }
-}
\ No newline at end of file
+
+    // Поиск с фильтром занятости передает интервал на сервер
+    @Test
+    void testSearchItems_WithInterval() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+        when(itemClient.searchItems(eq("bike"), eq(start), eq(end), eq(0), eq(10)))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "bike")
+                        .param("start", "2030-01-05T10:00:00")
+                        .param("end", "2030-01-07T10:00:00"))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).searchItems(eq("bike"), eq(start), eq(end), eq(0), eq(10));
+    }
+
+    // Размер страницы ограничен сверху
+    @Test
+    void testSearchItems_InvalidSize() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "bike").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search").param("text", "bike").param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    // Интервал задается только парой start/end
+    @Test
+    void testSearchItems_WithHalfInterval() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "bike")
+                        .param("start", "2030-01-05T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    // Тест для getItemAvailability
+    @Test
+    void testGetItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0);
+
+        when(itemClient.getItemAvailability(eq(1L), eq(from), eq(to)))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+
+        verify(itemClient, times(1)).getItemAvailability(eq(1L), eq(from), eq(to));
+    }
+
+    // Пустой или перевернутый интервал отклоняется без обращения к серверу
+    @Test
+    void testGetItemAvailability_InvalidInterval() throws Exception {
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-02T10:00:00")
+                        .param("to", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    // Выгрузка вещей не пересекается с GET /items/{itemId} и передается потоком
+    @Test
+    void testExportItems() throws Exception {
+        String ndjson = "{\"id\":1,\"name\":\"Drill\"}\n";
+        StreamingResponseBody body = out -> out.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        when(itemClient.exportItems(1L))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body));
+
+        MvcResult result = mockMvc.perform(get("/items/export").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(ndjson));
+
+        verify(itemClient, times(1)).exportItems(1L);
+        verify(itemClient, never()).getItemById(any());
+    }
+
+    // Пакет без ошибок уходит на сервер одним запросом
+    @Test
+    void testAddItems() throws Exception {
+        List<ItemDto> dtos = List.of(
+                ItemDto.builder().name("Drill").description("Дрель").available(true).build(),
+                ItemDto.builder().name("Saw").description("Пила").available(true).build());
+        when(itemClient.addItems(eq(1L), eq(dtos)))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("index", 0, "status", 201),
+                        Map.of("index", 1, "status", 201))));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].status").value(201));
+
+        verify(itemClient, times(1)).addItems(eq(1L), eq(dtos));
+    }
+
+    // Ошибки всех элементов собираются в одно сообщение, пакет на сервер не отправляется
+    @Test
+    void testAddItems_InvalidElements() throws Exception {
+        List<ItemDto> dtos = List.of(
+                ItemDto.builder().name("Drill").description("Дрель").available(true).build(),
+                ItemDto.builder().description("Без названия").available(true).build(),
+                ItemDto.builder().name("Saw").description("Пила").build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("[1].name")))
+                .andExpect(jsonPath("$.message").value(containsString("[2].available")));
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void testAddItems_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+}
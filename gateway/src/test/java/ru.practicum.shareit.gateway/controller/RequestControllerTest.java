@@ -101,7 +101,7 @@ public class RequestControllerTest {
 
         List<RequestDto> expectedRequests = Arrays.asList(request1, request2);
 
-        when(requestClient.getAllRequestsExcludingUser(eq(userId)))
+        when(requestClient.getAllRequestsExcludingUser(eq(userId), isNull(), isNull(), eq(10)))
                 .thenReturn(ResponseEntity.ok(expectedRequests));
 
         mockMvc.perform(get("/requests/all")
@@ -114,7 +114,18 @@ public class RequestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(request2.getId()))
                 .andExpect(jsonPath("$[1].description").value(request2.getDescription()));
 
-        verify(requestClient, times(1)).getAllRequestsExcludingUser(eq(userId));
+        verify(requestClient, times(1)).getAllRequestsExcludingUser(eq(userId), isNull(), isNull(), eq(10));
+    }
+
+    // Размер страницы ограничен сверху, как limit в /users
+    @Test
+    void testGetAllRequestsExcludingUser_InvalidSize() throws Exception {
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", 1L).param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", 1L).param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(requestClient, never()).getAllRequestsExcludingUser(any(), any(), any(), any());
     }
 
     // Тест для getRequestById
@@ -8,9 +8,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.gateway.client.UserClient;
 import ru.practicum.shareit.gateway.dto.user.UserDto;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -103,7 +106,7 @@ public class UserControllerTest {
 
         Collection<UserDto> expectedUsers = Arrays.asList(user1, user2);
 
-        when(userClient.getAllUsers())
+        when(userClient.getAllUsers(null, 100))
                 .thenReturn(ResponseEntity.ok(expectedUsers));
 
         mockMvc.perform(get("/users"))
@@ -117,7 +120,40 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[1].name").value(user2.getName()))
                 .andExpect(jsonPath("$[1].email").value(user2.getEmail()));
 
-        verify(userClient, times(1)).getAllUsers();
+        verify(userClient, times(1)).getAllUsers(null, 100);
+    }
+
+    // Размер страницы ограничен сверху, курсор не может быть отрицательным
+    @Test
+    void testGetAllUsers_InvalidPaging() throws Exception {
+        mockMvc.perform(get("/users").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("afterId", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).getAllUsers(any(), any());
+    }
+
+    // NDJSON по Accept уходит в потоковую выгрузку
+    @Test
+    void testStreamAllUsers() throws Exception {
+        String ndjson = "{\"id\":6}\n{\"id\":7}\n";
+        StreamingResponseBody body = out -> out.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        when(userClient.streamAllUsers(5L))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body));
+
+        MvcResult result = mockMvc.perform(get("/users").param("afterId", "5").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+
+        verify(userClient, never()).getAllUsers(any(), any());
     }
 
     // Тест для deleteUserById
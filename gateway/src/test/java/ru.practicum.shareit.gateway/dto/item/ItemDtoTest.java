@@ -99,6 +99,8 @@ public class ItemDtoTest {
     void testValidation_InvalidDto() {
         ItemDto dto = ItemDto.builder()
                 .name("") // Нарушение @NotBlank
+                .description("Item Description")
+                .available(true)
                 .build();
 
         // Указываем группу валидации (OnCreate)
@@ -7,6 +7,7 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +54,7 @@ public class RequestItemDtoTest {
                 .id(1L)
                 .name("Item Name")
                 .ownerId(2L)
+                .created(LocalDateTime.now())
                 .build();
 
         Set<ConstraintViolation<RequestItemDto>> violations = validator.validate(dto);
@@ -64,6 +66,7 @@ public class RequestItemDtoTest {
     void testValidation_InvalidDto() {
         RequestItemDto dto = RequestItemDto.builder()
                 .name("") // Нарушение @NotBlank
+                .created(LocalDateTime.now())
                 .build();
 
         Set<ConstraintViolation<RequestItemDto>> violations = validator.validate(dto);
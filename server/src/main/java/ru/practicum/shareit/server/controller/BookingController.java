@@ -3,7 +3,11 @@ package ru.practicum.shareit.server.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
 import ru.practicum.shareit.server.dto.booking.*;
 import ru.practicum.shareit.server.service.booking.BookingService;
 
@@ -20,16 +24,25 @@ import ru.practicum.shareit.server.dto.booking.BookingShortDto;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final NdjsonWriter ndjsonWriter;
 
     // Создание нового бронирования
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public BookingDto addBooking(@RequestBody BookingCreateDto createDto,
                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("POST-запрос на создание бронирования: {}, userId={}", createDto, userId);
+        log.debug("POST-запрос на создание бронирования: {}, userId={}", createDto, userId);
         return bookingService.addBooking(userId, createDto);
     }
 
+    // Пакетное создание бронирований: статус и результат для каждого элемента в порядке запроса
+    @PostMapping("/batch")
+    public List<BatchResultDto<BookingDto>> addBookings(@RequestBody List<BookingCreateDto> createDtos,
+                                                        @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("POST-запрос на пакетное создание бронирований: {} шт., userId={}", createDtos.size(), userId);
+        return bookingService.addBookings(userId, createDtos);
+    }
+
     // Обновление статуса бронирования
     @PatchMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
@@ -37,7 +50,7 @@ public class BookingController {
             @PathVariable Long bookingId,
             @RequestParam Boolean approved,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("PATCH-запрос на обновление бронирования: bookingId={}, approved={}, userId={}",
+        log.debug("PATCH-запрос на обновление бронирования: bookingId={}, approved={}, userId={}",
                 bookingId, approved, userId);
         return bookingService.updateBooking(userId, bookingId, approved);
     }
@@ -45,7 +58,7 @@ public class BookingController {
     // Получение бронирования по ID
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@PathVariable Long bookingId) {
-        log.info("GET-запрос на получение бронирования: bookingId={}", bookingId);
+        log.debug("GET-запрос на получение бронирования: bookingId={}", bookingId);
         return bookingService.getBookingById(bookingId);
     }
 
@@ -53,9 +66,12 @@ public class BookingController {
     @GetMapping
     public List<BookingDto> getAllBookings(
             @RequestParam(required = false, defaultValue = "ALL") BookingState state,
-            @RequestHeader("X-Sharer-User-Id") Long requesterId) {
-        log.info("GET-запрос на получение всех бронирований: state={}, requesterId={}", state, requesterId);
-        return bookingService.getAllBookings(state, requesterId);
+            @RequestHeader("X-Sharer-User-Id") Long requesterId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("GET-запрос на получение всех бронирований: state={}, requesterId={}, from={}, size={}",
+                state, requesterId, from, size);
+        return bookingService.getAllBookings(state, requesterId, from, size);
     }
 
     // Получение всех бронирований для конкретного пользователя
@@ -63,18 +79,32 @@ public class BookingController {
     public List<BookingShortDto> getAllBookingsByUser(
             @PathVariable Long userId,
             @RequestHeader("X-Sharer-User-Id") Long requesterId,
-            @RequestParam(required = false, defaultValue = "ALL") BookingState state) {
-        log.info("GET-запрос на получение бронирований для пользователя: userId={}, state={}, requesterId={}",
-                userId, state, requesterId);
-        return bookingService.getAllBookingsByUser(userId, state, requesterId);
+            @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("GET-запрос на получение бронирований для пользователя: userId={}, state={}, requesterId={}, " +
+                "from={}, size={}", userId, state, requesterId, from, size);
+        return bookingService.getAllBookingsByUser(userId, state, requesterId, from, size);
     }
 
     // Получение всех бронирований для вещей, принадлежащих владельцу
     @GetMapping("/bookings/owner")
     public List<BookingShortDto> getAllBookingsForOwnerItems(
             @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("GET-запрос на получение бронирований для вещей владельца: state={}, ownerId={}, from={}, size={}",
+                state, ownerId, from, size);
+        return bookingService.getAllBookingsForOwnerItems(ownerId, state, from, size);
+    }
+
+    // Потоковая выгрузка всех бронирований вещей владельца в NDJSON, без пагинации
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsForOwnerItems(
             @RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        log.info("GET-запрос на получение бронирований для вещей владельца: state={}, ownerId={}", state, ownerId);
-        return bookingService.getAllBookingsForOwnerItems(ownerId, state);
+        log.debug("GET-запрос на выгрузку бронирований для вещей владельца: ownerId={}", ownerId);
+        return ndjsonWriter.<BookingShortDto>stream(action ->
+                bookingService.streamBookingsForOwnerItems(ownerId, action));
     }
 }
\ No newline at end of file
@@ -2,13 +2,21 @@ package ru.practicum.shareit.server.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
+import ru.practicum.shareit.server.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.server.dto.item.CommentDto;
 import ru.practicum.shareit.server.dto.item.ItemDto;
 import ru.practicum.shareit.server.service.item.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -17,21 +25,31 @@ import java.util.Collection;
 public class ItemController {
 
     private final ItemService itemService;
+    private final NdjsonWriter ndjsonWriter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemDto addItem(@RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("POST-запрос на добавление вещи: {}, userId={}", itemDto, userId);
+        log.debug("POST-запрос на добавление вещи: {}, userId={}", itemDto, userId);
         return itemService.addItem(userId, itemDto);
     }
 
+    // Пакетное добавление вещей: статус и результат для каждого элемента в порядке запроса
+    @PostMapping("/batch")
+    public List<BatchResultDto<ItemDto>> addItems(@RequestBody List<ItemDto> itemDtos,
+                                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("POST-запрос на пакетное добавление вещей: {} шт., userId={}", itemDtos.size(), userId);
+        return itemService.addItems(userId, itemDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
     @ResponseStatus(HttpStatus.CREATED)
     public CommentDto addComment(
             @PathVariable Long itemId,
             @RequestBody CommentDto commentDto,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("POST-запрос на добавление комментария: itemId={}, comment={}, userId={}", itemId, commentDto, userId);
+        log.debug("POST-запрос на добавление комментария: itemId={}, comment={}, userId={}",
+                itemId, commentDto, userId);
         return itemService.addComment(userId, itemId, commentDto);
     }
 
@@ -40,45 +58,75 @@ public class ItemController {
             @PathVariable Long itemId,
             @RequestBody ItemDto itemDto,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("PATCH-запрос на обновление вещи: itemId={}, item={}, userId={}", itemId, itemDto, userId);
+        log.debug("PATCH-запрос на обновление вещи: itemId={}, item={}, userId={}", itemId, itemDto, userId);
         return itemService.updateItem(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
     public ItemDto getItemById(@PathVariable Long itemId) {
-        log.info("GET-запрос на получение вещи: itemId={}", itemId);
+        log.debug("GET-запрос на получение вещи: itemId={}", itemId);
         return itemService.getItemById(itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityWindowDto> getItemAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("GET-запрос на получение свободных окон вещи: itemId={}, from={}, to={}", itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public Collection<ItemDto> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-запрос на получение всех вещей пользователя: userId={}", userId);
+        log.debug("GET-запрос на получение всех вещей пользователя: userId={}", userId);
         return itemService.getAllItems(userId);
     }
 
+    // Потоковая выгрузка всех вещей пользователя в NDJSON
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("GET-запрос на выгрузку вещей пользователя: userId={}", userId);
+        return ndjsonWriter.<ItemDto>stream(action -> itemService.streamItemsByOwnerId(userId, action));
+    }
+
+    // Потоковая выгрузка комментариев ко всем вещам пользователя в NDJSON
+    @GetMapping(path = "/comments/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportComments(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("GET-запрос на выгрузку комментариев к вещам пользователя: userId={}", userId);
+        return ndjsonWriter.<CommentDto>stream(action -> itemService.streamCommentsByOwnerId(userId, action));
+    }
+
     @GetMapping("/owner/{ownerId}")
     public Collection<ItemDto> getItemsByOwnerId(@PathVariable Long ownerId) {
-        log.info("GET-запрос на получение вещей владельца: ownerId={}", ownerId);
+        log.debug("GET-запрос на получение вещей владельца: ownerId={}", ownerId);
         return itemService.getItemsByOwnerId(ownerId);
     }
 
     @DeleteMapping("/{itemId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteItemById(@PathVariable Long itemId) {
-        log.info("DELETE-запрос на удаление вещи: itemId={}", itemId);
+        log.debug("DELETE-запрос на удаление вещи: itemId={}", itemId);
         itemService.deleteItemById(itemId);
     }
 
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteAllItems() {
-        log.info("DELETE-запрос на удаление всех вещей");
+        log.debug("DELETE-запрос на удаление всех вещей");
         itemService.deleteAllItems();
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItems(@RequestParam("text") String text) {
-        log.info("GET-запрос на поиск вещей: text={}", text);
-        return itemService.searchItems(text);
+    public Collection<ItemDto> searchItems(@RequestParam("text") String text,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                           @RequestParam(defaultValue = "0") Integer from,
+                                           @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("GET-запрос на поиск вещей: text={}, start={}, end={}, from={}, size={}", text, start, end, from,
+                size);
+        return itemService.searchItems(text, start, end, from, size);
     }
 }
\ No newline at end of file
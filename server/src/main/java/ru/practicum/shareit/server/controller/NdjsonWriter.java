@@ -0,0 +1,55 @@
+package ru.practicum.shareit.server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+// Ответ в формате NDJSON: по одному JSON-объекту на строку, запись идет по мере чтения из источника.
+// Источник получает обработчик строки и вызывает его для каждого элемента (например, из курсора JDBC).
+// Content-Type выставляется перед первой строкой: если источник упал раньше (например, пользователь
+// не найден), обработчик ошибок успевает ответить обычным JSON
+@Component
+@RequiredArgsConstructor
+public class NdjsonWriter {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<T>> source) {
+        HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getResponse();
+        StreamingResponseBody body = out -> {
+            try {
+                source.accept(element -> {
+                    try {
+                        if (response != null && response.getContentType() == null) {
+                            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                        }
+                        out.write(objectMapper.writeValueAsBytes(element));
+                        out.write(NEW_LINE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Клиент закрыл соединение: прерываем чтение источника и отдаем исходную ошибку
+                throw e.getCause();
+            }
+            if (response != null && response.getContentType() == null) {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+}
@@ -2,11 +2,13 @@ package ru.practicum.shareit.server.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.dto.request.RequestDto;
 import ru.practicum.shareit.server.service.request.RequestService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,7 +25,7 @@ public class RequestController {
     public RequestDto createRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestBody RequestDto requestDto) {
-        log.info("POST-запрос на создание запроса: {}, userId={}", requestDto, userId);
+        log.debug("POST-запрос на создание запроса: {}, userId={}", requestDto, userId);
         return requestService.createRequest(userId, requestDto);
     }
 
@@ -31,22 +33,27 @@ public class RequestController {
     @GetMapping
     public List<RequestDto> getAllRequestsByUser(
             @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-запрос на получение всех запросов пользователя: userId={}", userId);
+        log.debug("GET-запрос на получение всех запросов пользователя: userId={}", userId);
         return requestService.getAllRequestsByUser(userId);
     }
 
     // Получение всех запросов, кроме тех, что созданы текущим пользователем
     @GetMapping("/all")
     public List<RequestDto> getAllRequestsExcludingUser(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-запрос на получение всех запросов, кроме запросов пользователя: userId={}", userId);
-        return requestService.getAllRequestsExcludingUser(userId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime afterCreated,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("GET-запрос на получение всех запросов, кроме запросов пользователя: userId={}, afterCreated={}, " +
+                "afterId={}, size={}", userId, afterCreated, afterId, size);
+        return requestService.getAllRequestsExcludingUser(userId, afterCreated, afterId, size);
     }
 
     // Получение одного запроса по ID
     @GetMapping("/{requestId}")
     public RequestDto getRequestById(@PathVariable Long requestId) {
-        log.info("GET-запрос на получение запроса: requestId={}", requestId);
+        log.debug("GET-запрос на получение запроса: requestId={}", requestId);
         return requestService.getRequestById(requestId);
     }
 }
\ No newline at end of file
@@ -3,7 +3,10 @@ package ru.practicum.shareit.server.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.server.dto.user.UserDto;
 import ru.practicum.shareit.server.service.user.UserService;
 
@@ -16,16 +19,17 @@ import java.util.Collection;
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonWriter ndjsonWriter;
 
     // Создание нового пользователя
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto addUser(@RequestBody UserDto dto) {
-        log.info("POST-запрос на создание пользователя: {}", dto);
+        log.debug("POST-запрос на создание пользователя: {}", dto);
 
         UserDto createdUser = userService.addUser(dto);
 
-        log.info("Создан пользователь: {}", createdUser);
+        log.debug("Создан пользователь: {}", createdUser);
 
         return createdUser;
     }
@@ -34,13 +38,13 @@ public class UserController {
     @PatchMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public UserDto updateUser(@PathVariable Long id, @RequestBody UserDto dto) {
-        log.info("PATCH-запрос для ID {}: {}", id, dto);
+        log.debug("PATCH-запрос для ID {}: {}", id, dto);
 
         dto.setId(id);
 
         UserDto updatedUser = userService.updateUser(id, dto);
 
-        log.info("Обновлен пользователь: {}", updatedUser);
+        log.debug("Обновлен пользователь: {}", updatedUser);
 
         return updatedUser;
     }
@@ -48,24 +52,33 @@ public class UserController {
     // Получение пользователя по ID
     @GetMapping("/{id}")
     public UserDto getUserById(@PathVariable Long id) {
-        log.info("GET-запрос пользователя по ID: {}", id);
+        log.debug("GET-запрос пользователя по ID: {}", id);
 
         return userService.getUserById(id);
     }
 
-    // Получение всех пользователей
+    // Получение пользователей по возрастанию ID: не больше limit после пользователя afterId
     @GetMapping
-    public Collection<UserDto> getAllUsers() {
-        log.info("GET-запрос на получение всех пользователей");
+    public Collection<UserDto> getAllUsers(@RequestParam(required = false) Long afterId,
+                                           @RequestParam(defaultValue = "100") Integer limit) {
+        log.debug("GET-запрос на получение пользователей: afterId={}, limit={}", afterId, limit);
 
-        return userService.getAllUsers();
+        return userService.getAllUsers(afterId, limit);
+    }
+
+    // Потоковая выгрузка всех пользователей после afterId в NDJSON (Accept: application/x-ndjson)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(@RequestParam(required = false) Long afterId) {
+        log.debug("GET-запрос на потоковую выгрузку пользователей: afterId={}", afterId);
+
+        return ndjsonWriter.<UserDto>stream(action -> userService.streamAllUsers(afterId, action));
     }
 
     // Удаление пользователя по ID
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteUserById(@PathVariable Long id) {
-        log.info("DELETE-запрос на удаление пользователя по ID: {}", id);
+        log.debug("DELETE-запрос на удаление пользователя по ID: {}", id);
 
         userService.deleteUserById(id);
     }
@@ -74,7 +87,7 @@ public class UserController {
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteAllUsers() {
-        log.info("DELETE-запрос на удаление всех пользователей");
+        log.debug("DELETE-запрос на удаление всех пользователей");
 
         userService.deleteAllUsers();
     }
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.server.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// Чтение, результат которого живет дольше запроса (запись кеша), выполняется на основной базе.
+// С репликами чтение в транзакции readOnly или вне транзакции (Spring Data открывает свою readOnly) ушло бы
+// на реплику, и отстающее значение хранилось бы в кеше весь TTL - max-lag перестал бы ограничивать устаревание.
+// Такое чтение выполняется в отдельной транзакции на запись; соединение внешней транзакции берется лениво,
+// поэтому при промахе кеша в начале метода второе соединение одновременно не удерживается
+@Component
+public class PrimaryReader {
+
+    private final TransactionTemplate readWrite;
+
+    public PrimaryReader(PlatformTransactionManager transactionManager,
+                         @Value("${shareit.datasource.replicas.enabled:false}") boolean replicasEnabled) {
+        if (replicasEnabled) {
+            readWrite = new TransactionTemplate(transactionManager);
+            readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            readWrite = null;
+        }
+    }
+
+    public <T> T read(Supplier<T> reader) {
+        boolean onPrimary = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readWrite == null || onPrimary) {
+            return reader.get();
+        }
+        return readWrite.execute(status -> reader.get());
+    }
+}
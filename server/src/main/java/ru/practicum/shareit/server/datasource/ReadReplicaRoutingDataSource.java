@@ -0,0 +1,39 @@
+package ru.practicum.shareit.server.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+// Соединение для транзакции readOnly - с реплики, для остальных - с основной базы.
+// Если реплика не отдала соединение, она исключается из чтения, а запрос выполняется на основной базе
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaRouter router;
+
+    public ReadReplicaRoutingDataSource(ReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Optional<ReplicaRouter.Replica> replica = router.nextReplica();
+            if (replica.isPresent()) {
+                try {
+                    return replica.get().getDataSource().getConnection();
+                } catch (SQLException e) {
+                    router.markFailed(replica.get(), e);
+                }
+            }
+        }
+        return router.getPrimary().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return router.getPrimary().getConnection(username, password);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.server.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// DataSource с маршрутизацией чтения на реплики; включается shareit.datasource.replicas.enabled=true.
+// Пулы основной базы и реплик получают общие настройки spring.datasource.hikari.*
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "shareit.datasource.replicas", name = "enabled")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties, ReplicaProperties properties,
+                                       Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(binder, "primary", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        primary.setDriverClassName(dataSourceProperties.determineDriverClassName());
+
+        List<ReplicaRouter.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            ReplicaProperties.Node node = properties.getNodes().get(i);
+            String name = "replica-" + (i + 1);
+            HikariDataSource dataSource = pool(binder, name, node.getUrl(),
+                    node.getUsername() != null ? node.getUsername() : dataSourceProperties.determineUsername(),
+                    node.getPassword() != null ? node.getPassword() : dataSourceProperties.determinePassword());
+            dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaRouter.Replica(name, dataSource));
+        }
+
+        ReplicaRouter router = new ReplicaRouter(primary, replicas, properties);
+        meterRegistry.ifAvailable(registry -> {
+            // Пулы не зарегистрированы бинами DataSource, поэтому метрики hikaricp.* подключаются здесь
+            MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(registry);
+            router.getPools().forEach(pool -> pool.setMetricsTrackerFactory(metrics));
+            router.getReplicas().forEach(replica ->
+                    Gauge.builder("shareit.datasource.replica.lag", replica, ReplicaRouter.Replica::getLagSeconds)
+                            .description("Отставание реплики по последней проверке, NaN - реплика недоступна")
+                            .baseUnit("seconds")
+                            .tag("replica", replica.getName())
+                            .register(registry));
+        });
+        router.start(properties.getCheckInterval());
+        return router;
+    }
+
+    // Соединение берется при первом запросе, когда признак readOnly уже выставлен:
+    // JpaTransactionManager открывает соединение раньше, чем публикует этот признак транзакции
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(replicaRouter));
+    }
+
+    private static HikariDataSource pool(Binder binder, String name, String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
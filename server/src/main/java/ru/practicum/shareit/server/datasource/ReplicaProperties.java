@@ -0,0 +1,42 @@
+package ru.practicum.shareit.server.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Реплики для чтения: транзакции readOnly уходят на реплику с допустимым отставанием, остальные - на основную базу
+@Data
+@ConfigurationProperties(prefix = "shareit.datasource.replicas")
+public class ReplicaProperties {
+
+    // Маршрутизация по репликам; false - один spring.datasource
+    private boolean enabled = false;
+
+    // Реплики; имя пользователя и пароль по умолчанию берутся из spring.datasource
+    private List<Node> nodes = new ArrayList<>();
+
+    // Реплика с большим отставанием исключается из чтения до следующей успешной проверки
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Период проверки отставания
+    private Duration checkInterval = Duration.ofSeconds(2);
+
+    // Ожидание соединения с реплики; после него чтение уходит на основную базу
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    // Запрос отставания в секундах. По умолчанию для потоковой репликации PostgreSQL: если реплика применила все
+    // полученные WAL, отставание нулевое, иначе - время с последней примененной транзакции
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.server.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Пулы основной базы и реплик. Фоновая проверка допускает к чтению реплики с отставанием не больше maxLag;
+// до первой успешной проверки и после ошибки реплика не используется
+@Slf4j
+public class ReplicaRouter implements Closeable {
+
+    private final HikariDataSource primary;
+    @Getter
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRouter(HikariDataSource primary, List<Replica> replicas, ReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+        this.lagQuery = properties.getLagQuery();
+    }
+
+    public void start(Duration checkInterval) {
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    // Все пулы: основная база и реплики
+    public List<HikariDataSource> getPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primary);
+        replicas.forEach(replica -> pools.add(replica.dataSource));
+        return pools;
+    }
+
+    // Следующая по кругу реплика из допущенных к чтению; пусто - читать с основной базы
+    public Optional<Replica> nextReplica() {
+        List<Replica> available = replicas.stream().filter(Replica::isAvailable).toList();
+        if (available.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(available.get(Math.floorMod(next.getAndIncrement(), available.size())));
+    }
+
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+                replica.lagSeconds = lag;
+                update(replica, lag <= maxLagSeconds, "отставание " + lag + " с");
+            } catch (SQLException e) {
+                markFailed(replica, e);
+            }
+        }
+    }
+
+    // Ошибка соединения или проверки: реплика исключается до следующей успешной проверки
+    public void markFailed(Replica replica, SQLException e) {
+        replica.lagSeconds = Double.NaN;
+        update(replica, false, e.getMessage());
+    }
+
+    private void update(Replica replica, boolean available, String reason) {
+        if (replica.available != available) {
+            if (available) {
+                log.info("Реплика {} допущена к чтению: {}", replica.name, reason);
+            } else {
+                log.warn("Реплика {} исключена из чтения: {}", replica.name, reason);
+            }
+        }
+        replica.available = available;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    @Getter
+    public static class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
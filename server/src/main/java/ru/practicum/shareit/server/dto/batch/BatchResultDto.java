@@ -0,0 +1,32 @@
+package ru.practicum.shareit.server.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+// Результат обработки одного элемента пакета: позиция во входном списке, HTTP-статус,
+// созданный объект (при успехе) или текст ошибки
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto<T> {
+
+    private int index;
+
+    private int status;
+
+    private T result;
+
+    private String error;
+
+    public static <T> BatchResultDto<T> created(int index, T result) {
+        return new BatchResultDto<>(index, HttpStatus.CREATED.value(), result, null);
+    }
+
+    public static <T> BatchResultDto<T> failed(int index, HttpStatus status, String error) {
+        return new BatchResultDto<>(index, status.value(), null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.server.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Свободное окно вещи между бронированиями
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityWindowDto {
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+}
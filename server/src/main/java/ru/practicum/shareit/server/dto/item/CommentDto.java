@@ -15,6 +15,8 @@ public class CommentDto {
 
     private Long id;
 
+    private Long itemId;
+
     private String text;
 
     private String authorName;
@@ -22,6 +22,13 @@ public class ServerExceptionHandler {
         return new ErrorResponse("Запрос не найден", ex.getMessage());
     }
 
+    // Обработка некорректных параметров запроса
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBadRequestException(BadRequestException ex) {
+        return new ErrorResponse("Некорректный запрос", ex.getMessage());
+    }
+
     // Обработка конфликтов данных
     @ExceptionHandler(DataConflictException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
@@ -23,6 +23,7 @@ public class CommentMapper {
     public static CommentDto toCommentDto(Comment comment) {
         CommentDto dto = new CommentDto();
         dto.setId(comment.getId());
+        dto.setItemId(comment.getItem() != null ? comment.getItem().getId() : null);
         dto.setText(comment.getText());
         dto.setAuthorName(comment.getAuthor().getName());
         dto.setCreated(comment.getCreated());
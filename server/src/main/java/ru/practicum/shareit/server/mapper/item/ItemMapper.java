@@ -5,6 +5,8 @@ import ru.practicum.shareit.server.dto.item.ItemDto;
 import ru.practicum.shareit.server.dto.booking.BookingShortDto;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.repository.booking.BookingTimelineView;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
 
 import java.util.List;
 
@@ -21,6 +23,17 @@ public class ItemMapper {
                 .build();
     }
 
+    // Преобразование проекции поиска в ItemDto
+    public static ItemDto toItemDto(ItemSearchView view) {
+        return ItemDto.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .available(view.getAvailable())
+                .requestId(view.getRequestId())
+                .build();
+    }
+
     // Преобразование ItemDto в Item
     public static Item toItem(ItemDto dto) {
         return Item.builder()
@@ -34,14 +47,21 @@ public class ItemMapper {
 
     // Преобразование Item в ItemDto с учетом бронирований
     public static ItemDto toItemDtoWithBookings(Item item, Booking lastBooking, Booking nextBooking) {
+        return toItemDtoWithBookings(item,
+                lastBooking != null ? toBookingShortDto(lastBooking) : null,
+                nextBooking != null ? toBookingShortDto(nextBooking) : null);
+    }
+
+    // Преобразование Item в ItemDto с уже подготовленными бронированиями
+    public static ItemDto toItemDtoWithBookings(Item item, BookingShortDto lastBooking, BookingShortDto nextBooking) {
         return ItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequestId())
-                .lastBooking(lastBooking != null ? toBookingShortDto(lastBooking) : null)
-                .nextBooking(nextBooking != null ? toBookingShortDto(nextBooking) : null)
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
                 .build();
     }
 
@@ -55,6 +75,16 @@ public class ItemMapper {
                 .build();
     }
 
+    // Преобразование строки BookingRepository.findBookingTimeline в BookingShortDto
+    public static BookingShortDto toBookingShortDto(BookingTimelineView view) {
+        return BookingShortDto.builder()
+                .id(view.getId())
+                .start(view.getStart())
+                .end(view.getEnd())
+                .bookerId(view.getBookerId())
+                .build();
+    }
+
     public static ItemDto toItemDtoWithComments(Item item, List<CommentDto> comments) {
         return ItemDto.builder()
                 .id(item.getId())
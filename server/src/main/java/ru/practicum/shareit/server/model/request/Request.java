@@ -9,6 +9,7 @@ import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Data
@@ -19,7 +20,8 @@ import java.util.List;
 @Table(name = "requests")
 public class Request {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1024)
@@ -37,6 +39,8 @@ public class Request {
 
     @PrePersist
     protected void onCreate() {
-        this.created = LocalDateTime.now(); // Автоматическое заполнение времени создания
+        // Автоматическое заполнение времени создания; точность совпадает с TIMESTAMP в БД (микросекунды),
+        // иначе курсор (created, id), взятый из ответа, не совпадет с сохраненным значением
+        this.created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
\ No newline at end of file
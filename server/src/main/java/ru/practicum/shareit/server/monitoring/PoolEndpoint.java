@@ -0,0 +1,29 @@
+package ru.practicum.shareit.server.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+// /actuator/pool: наблюдаемая потребность в соединениях и рекомендуемый размер каждого пула.
+// DELETE сбрасывает замеры, например перед нагрузочным прогоном
+@Endpoint(id = "pool")
+public class PoolEndpoint {
+
+    private final PoolSizingMonitor monitor;
+
+    public PoolEndpoint(PoolSizingMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<PoolSizingMonitor.PoolReport> pools() {
+        return monitor.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
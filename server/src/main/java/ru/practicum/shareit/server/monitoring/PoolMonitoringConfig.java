@@ -0,0 +1,45 @@
+package ru.practicum.shareit.server.monitoring;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.server.datasource.ReplicaRouter;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Objects;
+
+// Отчет о размере пулов соединений; отключается shareit.pool-report.enabled=false.
+// При маршрутизации на реплики пулы берутся из ReplicaRouter, иначе - из DataSource контекста
+@Configuration
+@EnableConfigurationProperties(PoolReportProperties.class)
+@ConditionalOnProperty(prefix = "shareit.pool-report", name = "enabled", matchIfMissing = true)
+public class PoolMonitoringConfig {
+
+    @Bean
+    public PoolSizingMonitor poolSizingMonitor(ObjectProvider<DataSource> dataSources,
+                                               ObjectProvider<ReplicaRouter> replicaRouter,
+                                               PoolReportProperties properties) {
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        List<HikariDataSource> pools = router != null
+                ? router.getPools()
+                : dataSources.orderedStream()
+                        .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+                                HikariDataSource.class))
+                        .filter(Objects::nonNull)
+                        .toList();
+        PoolSizingMonitor monitor = new PoolSizingMonitor(pools, properties);
+        monitor.start(properties.getSampleInterval());
+        return monitor;
+    }
+
+    @Bean
+    public PoolEndpoint poolEndpoint(PoolSizingMonitor poolSizingMonitor) {
+        return new PoolEndpoint(poolSizingMonitor);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Настройки отчета о размере пулов соединений (/actuator/pool)
+@Data
+@ConfigurationProperties(prefix = "shareit.pool-report")
+public class PoolReportProperties {
+
+    private boolean enabled = true;
+
+    // Период замеров занятых и ожидающих соединений
+    private Duration sampleInterval = Duration.ofSeconds(1);
+
+    // Запас к пиковой потребности при расчете рекомендуемого размера
+    private double headroom = 1.25;
+
+    // Рекомендуемый размер не опускается ниже этого значения
+    private int minimumSize = 2;
+}
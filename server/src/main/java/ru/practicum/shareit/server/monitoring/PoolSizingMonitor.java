@@ -0,0 +1,131 @@
+package ru.practicum.shareit.server.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Data;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Замеры пулов Hikari по расписанию: пик занятых и ожидающих соединений, средняя потребность.
+// Рекомендуемый размер - пиковая потребность (занятые + ожидающие) с запасом headroom.
+// Таймеры ожидания и удержания соединения - метрики hikaricp.connections.acquire и hikaricp.connections.usage
+public class PoolSizingMonitor implements Closeable {
+
+    private final List<HikariDataSource> pools;
+    private final PoolReportProperties properties;
+    private final Map<String, PoolSamples> samples = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-sizing-sample");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PoolSizingMonitor(List<HikariDataSource> pools, PoolReportProperties properties) {
+        this.pools = List.copyOf(pools);
+        this.properties = properties;
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleAtFixedRate(this::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void sample() {
+        for (HikariDataSource pool : pools) {
+            // Пул создается при первом запросе соединения, до этого замерять нечего
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            if (bean != null) {
+                samples.computeIfAbsent(pool.getPoolName(), name -> new PoolSamples())
+                        .record(bean.getActiveConnections(), bean.getThreadsAwaitingConnection());
+            }
+        }
+    }
+
+    public List<PoolReport> report() {
+        List<PoolReport> reports = new ArrayList<>();
+        for (HikariDataSource pool : pools) {
+            PoolSamples poolSamples = samples.getOrDefault(pool.getPoolName(), new PoolSamples());
+            reports.add(poolSamples.report(pool, properties));
+        }
+        return reports;
+    }
+
+    public void reset() {
+        samples.clear();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class PoolSamples {
+        private long count;
+        private long saturated;
+        private int peakActive;
+        private int peakPending;
+        private int peakDemand;
+        private long demandSum;
+
+        private synchronized void record(int active, int pending) {
+            count++;
+            if (pending > 0) {
+                saturated++;
+            }
+            peakActive = Math.max(peakActive, active);
+            peakPending = Math.max(peakPending, pending);
+            peakDemand = Math.max(peakDemand, active + pending);
+            demandSum += active + pending;
+        }
+
+        private synchronized PoolReport report(HikariDataSource pool, PoolReportProperties properties) {
+            PoolReport report = new PoolReport();
+            report.setPool(pool.getPoolName());
+            report.setMaximumPoolSize(pool.getMaximumPoolSize());
+            report.setMinimumIdle(pool.getMinimumIdle());
+            report.setSamples(count);
+            report.setPeakActive(peakActive);
+            report.setPeakPending(peakPending);
+            report.setAverageDemand(count == 0 ? 0 : Math.round(demandSum * 100.0 / count) / 100.0);
+            report.setSaturatedShare(count == 0 ? 0 : Math.round(saturated * 1000.0 / count) / 1000.0);
+
+            int recommended = Math.max(properties.getMinimumSize(),
+                    (int) Math.ceil(peakDemand * properties.getHeadroom()));
+            report.setRecommendedMaximumPoolSize(recommended);
+            if (count == 0) {
+                report.setVerdict("Нет замеров: пул еще не использовался");
+            } else if (saturated > 0) {
+                report.setVerdict("Пул насыщен: потоки ждали соединение в " + saturated + " замерах из " + count
+                        + ", пиковая потребность " + peakDemand);
+            } else if (recommended < pool.getMaximumPoolSize()) {
+                report.setVerdict("Пул избыточен: пик занятых соединений " + peakActive + " из "
+                        + pool.getMaximumPoolSize());
+            } else {
+                report.setVerdict("Размер пула соответствует наблюдаемой нагрузке");
+            }
+            return report;
+        }
+    }
+
+    // Строка отчета для actuator-эндпоинта pool
+    @Data
+    public static class PoolReport {
+        private String pool;
+        private int maximumPoolSize;
+        private int minimumIdle;
+        private long samples;
+        private int peakActive;
+        private int peakPending;
+        private double averageDemand;
+        private double saturatedShare;
+        private int recommendedMaximumPoolSize;
+        private String verdict;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.server.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// /actuator/queries: самые частые и самые долгие по суммарному времени SQL-запросы (по отпечаткам).
+// DELETE сбрасывает статистику, например перед нагрузочным прогоном
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryStatistics statistics;
+
+    public QueriesEndpoint(QueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queries(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("byCount", statistics.topByCount(top));
+        result.put("byTotalTime", statistics.topByTotalTime(top));
+        result.put("dropped", statistics.getDropped());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.Data;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Накопленная статистика SQL-запросов по отпечаткам: число выполнений, ошибки, суммарное и максимальное время
+public class QueryStatistics {
+
+    private final int maxFingerprints;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public QueryStatistics(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    public void record(String fingerprint, long nanos, boolean success) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            if (entries.size() >= maxFingerprints) {
+                dropped.incrementAndGet();
+                return;
+            }
+            entry = entries.computeIfAbsent(fingerprint, key -> new Entry());
+        }
+        entry.count.increment();
+        entry.totalNanos.add(nanos);
+        entry.maxNanos.accumulate(nanos);
+        if (!success) {
+            entry.errors.increment();
+        }
+    }
+
+    public List<QuerySummary> topByCount(int limit) {
+        return top(limit, Comparator.comparingLong(QuerySummary::getCount));
+    }
+
+    public List<QuerySummary> topByTotalTime(int limit) {
+        return top(limit, Comparator.comparingDouble(QuerySummary::getTotalMs));
+    }
+
+    // Выполнения запросов, не попавших в статистику из-за лимита отпечатков
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void reset() {
+        entries.clear();
+        dropped.set(0);
+    }
+
+    private List<QuerySummary> top(int limit, Comparator<QuerySummary> order) {
+        return entries.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static final class Entry {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private QuerySummary summary(String sql) {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            return new QuerySummary(sql, executions, errors.sum(), millis(total),
+                    executions == 0 ? 0 : millis(total / executions), millis(maxNanos.get()));
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    // Строка отчета для actuator-эндпоинта queries
+    @Data
+    public static class QuerySummary {
+        private final String sql;
+        private final long count;
+        private final long errors;
+        private final double totalMs;
+        private final double meanMs;
+        private final double maxMs;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.server.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// SQL-запросы, выполненные в рамках текущего HTTP-запроса. Учитываются запросы потока обработчика;
+// счетчик активен только между begin() и end()
+final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long totalNanos;
+    private final Map<String, Integer> byFingerprint = new HashMap<>();
+
+    private RequestStatements() {
+    }
+
+    static void begin() {
+        CURRENT.set(new RequestStatements());
+    }
+
+    static RequestStatements end() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    static void record(String fingerprint, long nanos) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.count++;
+            statements.totalNanos += nanos;
+            statements.byFingerprint.merge(fingerprint, 1, Integer::sum);
+        }
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // Самый частый запрос: при N+1 это запрос, повторяемый для каждой строки
+    Map.Entry<String, Integer> mostFrequent() {
+        return byFingerprint.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.server.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// Учет SQL-запросов через datasource-proxy: DataSource оборачивается прокси, который измеряет каждое выполнение.
+// Отключается shareit.sql.enabled=false
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+@ConditionalOnProperty(prefix = "shareit.sql", name = "enabled", matchIfMissing = true)
+public class SqlMonitoringConfig {
+
+    @Bean
+    public QueryStatistics queryStatistics(SqlMonitoringProperties properties) {
+        return new QueryStatistics(properties.getMaxFingerprints());
+    }
+
+    @Bean
+    public SqlMonitoringListener sqlMonitoringListener(QueryStatistics queryStatistics,
+                                                       SqlMonitoringProperties properties) {
+        return new SqlMonitoringListener(queryStatistics, properties);
+    }
+
+    // static: постпроцессор создается раньше остальных бинов конфигурации; слушатель берется лениво
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(
+            ObjectProvider<SqlMonitoringListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(MeterRegistry meterRegistry,
+                                                                             SqlMonitoringProperties properties) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public QueriesEndpoint queriesEndpoint(QueryStatistics queryStatistics) {
+        return new QueriesEndpoint(queryStatistics);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Слушатель datasource-proxy: время каждого выполнения JDBC-запроса идет в статистику по отпечатку,
+// в счетчик текущего HTTP-запроса и, если превышен порог, в журнал медленных запросов
+@Slf4j
+public class SqlMonitoringListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "shareit.startNanos";
+
+    private final QueryStatistics statistics;
+    private final long slowQueryNanos;
+
+    public SqlMonitoringListener(QueryStatistics statistics, SqlMonitoringProperties properties) {
+        this.statistics = statistics;
+        this.slowQueryNanos = properties.getSlowQueryThreshold().toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        // Пакет из разных запросов учитывается по первому; пакет одного запроса - это один запрос
+        String fingerprint = SqlFingerprint.of(queryInfoList.get(0).getQuery());
+
+        statistics.record(fingerprint, nanos, execInfo.isSuccess());
+        RequestStatements.record(fingerprint, nanos);
+        if (nanos >= slowQueryNanos) {
+            log.warn("Медленный SQL-запрос: {} мс, {}", nanos / 1_000_000, fingerprint);
+        }
+    }
+}
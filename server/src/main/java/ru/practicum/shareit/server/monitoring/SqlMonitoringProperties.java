@@ -0,0 +1,24 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Настройки учета SQL-запросов: журнал медленных запросов, счетчик запросов на HTTP-запрос и статистика
+@Data
+@ConfigurationProperties(prefix = "shareit.sql")
+public class SqlMonitoringProperties {
+
+    // Обертка DataSource и учет запросов; false - DataSource используется как есть
+    private boolean enabled = true;
+
+    // Запросы дольше этого времени пишутся в журнал с отпечатком SQL
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    // HTTP-запрос, выполнивший больше SQL-запросов, помечается в журнале как подозрительный (N+1)
+    private int requestStatementThreshold = 20;
+
+    // Максимум различных отпечатков в статистике; новые сверх лимита учитываются только в счетчике отброшенных
+    private int maxFingerprints = 1000;
+}
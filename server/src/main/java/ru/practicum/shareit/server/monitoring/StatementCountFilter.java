@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Считает SQL-запросы каждого HTTP-запроса: распределение публикуется как shareit.sql.statements{uri},
+// а запросы сверх порога пишутся в журнал вместе с самым частым SQL (типичный признак N+1)
+@Slf4j
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+
+    public StatementCountFilter(MeterRegistry meterRegistry, SqlMonitoringProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = properties.getRequestStatementThreshold();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatements statements = RequestStatements.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("shareit.sql.statements")
+                    .description("SQL-запросы на один HTTP-запрос")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.getCount());
+
+            if (statements.getCount() > threshold) {
+                Map.Entry<String, Integer> frequent = statements.mostFrequent();
+                log.warn("{} {} выполнил {} SQL-запросов (порог {}), {} мс в БД; чаще всего ({} раз): {}",
+                        request.getMethod(), request.getRequestURI(), statements.getCount(), threshold,
+                        statements.getTotalNanos() / 1_000_000, frequent.getValue(), frequent.getKey());
+            }
+        }
+    }
+}
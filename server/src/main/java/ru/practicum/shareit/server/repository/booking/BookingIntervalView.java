@@ -0,0 +1,19 @@
+package ru.practicum.shareit.server.repository.booking;
+
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Интервал бронирования для индекса занятости (результат BookingRepository.findActiveIntervals)
+public interface BookingIntervalView {
+
+    Long getId();
+
+    Long getItemId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    BookingStatus getStatus();
+}
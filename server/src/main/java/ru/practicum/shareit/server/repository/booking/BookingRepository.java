@@ -1,38 +1,93 @@
 package ru.practicum.shareit.server.repository.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    // Поиск бронирований по ID арендатора
-    List<Booking> findByBookerId(Long bookerId);
+    // Бронирование вместе с вещью и арендатором одним запросом
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long bookingId);
 
-    // Поиск бронирований по ID вещи
-    List<Booking> findByItemId(Long itemId);
+    // Страница бронирований арендатора по состояниям (ALL, CURRENT, PAST, FUTURE, WAITING/REJECTED)
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
-    // Поиск бронирований для владельца вещей
-    List<Booking> findByItem_Owner_Id(Long ownerId);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfter(Long bookerId, LocalDateTime start,
+                                                                  LocalDateTime end, Pageable pageable);
 
-    // Поиск последнего завершенного бронирования для вещи
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId AND b.status = 'APPROVED' AND b.endDate < :now " +
-            "ORDER BY b.endDate DESC")
-    Optional<Booking> findLastBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime end, Pageable pageable);
 
-    // Поиск ближайшего будущего бронирования для вещи
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId AND b.status = 'APPROVED' AND b.startDate > :now " +
-            "ORDER BY b.startDate ASC")
-    Optional<Booking> findNextBooking(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime start, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+
+    // Страница бронирований вещей владельца по состояниям
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItem_Owner_Id(Long ownerId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItem_Owner_IdAndStartDateBeforeAndEndDateAfter(Long ownerId, LocalDateTime start,
+                                                                       LocalDateTime end, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItem_Owner_IdAndEndDateBefore(Long ownerId, LocalDateTime end, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItem_Owner_IdAndStartDateAfter(Long ownerId, LocalDateTime start, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItem_Owner_IdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    // Все бронирования вещей владельца для потоковой выгрузки: курсор читается порциями по fetchSize.
+    // Вещь и арендатор не подгружаются, в выгрузку идет только ID арендатора
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId ORDER BY b.startDate DESC, b.id DESC")
+    Stream<Booking> streamByItemOwnerId(@Param("ownerId") Long ownerId);
+
+    // Последнее и ближайшее подтвержденные бронирования для набора вещей за один запрос:
+    // не более одной строки каждого вида (LAST/NEXT) на вещь
+    @Query(value = "SELECT t.id AS \"id\", t.item_id AS \"itemId\", t.start_date AS \"start\", " +
+            "t.end_date AS \"end\", t.booker_id AS \"bookerId\", t.kind AS \"kind\" " +
+            "FROM (" +
+            "SELECT b.id, b.item_id, b.start_date, b.end_date, b.booker_id, 'LAST' AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC, b.id DESC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.end_date < :now " +
+            "UNION ALL " +
+            "SELECT b.id, b.item_id, b.start_date, b.end_date, b.booker_id, 'NEXT' AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date > :now" +
+            ") t " +
+            "WHERE t.rn = 1",
+            nativeQuery = true)
+    List<BookingTimelineView> findBookingTimeline(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
 
     // Проверка, что пользователь арендовал вещь (с учетом статуса APPROVED)
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
@@ -43,6 +98,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "AND b.endDate <= CURRENT_TIMESTAMP")
     boolean existsByUserAndItemAndApprovedStatus(@Param("userId") Long userId, @Param("itemId") Long itemId);
 
+    // Незавершенные бронирования в заданных статусах без загрузки вещей и пользователей (для индекса занятости)
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.startDate AS start, b.endDate AS end, b.status AS status " +
+            "FROM Booking b " +
+            "WHERE b.status IN :statuses AND b.endDate >= :now")
+    List<BookingIntervalView> findActiveIntervals(@Param("statuses") Collection<BookingStatus> statuses,
+                                                  @Param("now") LocalDateTime now);
+
+    // Подтвержденные бронирования вещей из набора, пересекающие [from, to] (проверка пакета одним запросом)
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.startDate AS start, b.endDate AS end, b.status AS status " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = 'APPROVED' AND b.startDate <= :to AND b.endDate >= :from")
+    List<BookingIntervalView> findApprovedIntervals(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    // Блокировка строк вещей пакета в порядке ID, чтобы параллельные пакеты не взаимоблокировались
+    @Query(value = "SELECT id FROM items WHERE id IN (:itemIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockItems(@Param("itemIds") Collection<Long> itemIds);
+
+    // Блокировка строки вещи до конца транзакции: проверка пересечений и запись бронирования одной вещи
+    // выполняются последовательно, бронирования других вещей не ждут
+    @Query(value = "SELECT id FROM items WHERE id = :itemId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockItem(@Param("itemId") Long itemId);
+
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
             "FROM Booking b " +
             "WHERE b.item.id = :itemId " +
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.server.repository.booking;
+
+import java.time.LocalDateTime;
+
+// Последнее или ближайшее бронирование вещи (результат BookingRepository.findBookingTimeline)
+public interface BookingTimelineView {
+
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    Long getId();
+
+    Long getItemId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Long getBookerId();
+
+    // LAST или NEXT
+    String getKind();
+}
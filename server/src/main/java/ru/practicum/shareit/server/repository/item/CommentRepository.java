@@ -1,13 +1,28 @@
 package ru.practicum.shareit.server.repository.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.model.item.Comment;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByItemId(Long itemId);
+
+    // Комментарии ко всем вещам владельца для потоковой выгрузки; автор нужен для имени, поэтому join fetch
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author " +
+            "WHERE c.item.owner.id = :ownerId ORDER BY c.item.id, c.created")
+    Stream<Comment> streamByItemOwnerId(@Param("ownerId") Long ownerId);
 }
\ No newline at end of file
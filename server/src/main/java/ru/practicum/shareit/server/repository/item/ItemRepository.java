@@ -1,26 +1,107 @@
 package ru.practicum.shareit.server.repository.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.model.item.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    // Поиск вещей по тексту в названии или описании
-    @Query("SELECT i FROM Item i " +
-            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) " +
-            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) " +
-            "AND i.available = true")
-    List<Item> search(@Param("text") String text);
+    // Экранирует символы шаблона LIKE ('\', '%', '_'), чтобы текст поиска совпадал только буквально
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Поиск доступных вещей по подстроке с пагинацией (переносимый вариант для H2), text экранирован escapeLike
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.available AS available, i.requestId AS requestId " +
+            "FROM Item i " +
+            "WHERE i.available = true " +
+            "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) ESCAPE '\\' " +
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%')) ESCAPE '\\') " +
+            "ORDER BY i.id")
+    List<ItemSearchView> searchAvailable(@Param("text") String text, Pageable pageable);
+
+    // То же, но только вещи без подтвержденных бронирований, пересекающихся с [start, end]
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.available AS available, i.requestId AS requestId " +
+            "FROM Item i " +
+            "WHERE i.available = true " +
+            "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) ESCAPE '\\' " +
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%')) ESCAPE '\\') " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "WHERE b.item.id = i.id AND b.status = 'APPROVED' " +
+            "AND b.startDate <= :end AND b.endDate >= :start) " +
+            "ORDER BY i.id")
+    List<ItemSearchView> searchAvailableFreeBetween(@Param("text") String text,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end,
+                                                    Pageable pageable);
+
+    // Полнотекстовый поиск доступных вещей в PostgreSQL (tsvector + GIN, подстрока через pg_trgm).
+    // text передается в plainto_tsquery как есть, pattern - тот же текст, экранированный escapeLike
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.is_available AS available, i.request_id AS \"requestId\" " +
+            "FROM items i " +
+            "WHERE i.is_available = TRUE " +
+            "AND (to_tsvector('russian', i.name || ' ' || i.description) @@ plainto_tsquery('russian', :text) " +
+            "OR i.name ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\' " +
+            "OR i.description ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\') " +
+            "ORDER BY ts_rank(to_tsvector('russian', i.name || ' ' || i.description), " +
+            "plainto_tsquery('russian', :text)) DESC, i.id",
+            nativeQuery = true)
+    List<ItemSearchView> searchFullText(@Param("text") String text, @Param("pattern") String pattern,
+                                        Pageable pageable);
+
+    // Полнотекстовый поиск вещей, свободных на [start, end] (по частичному индексу подтвержденных бронирований)
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.is_available AS available, i.request_id AS \"requestId\" " +
+            "FROM items i " +
+            "WHERE i.is_available = TRUE " +
+            "AND (to_tsvector('russian', i.name || ' ' || i.description) @@ plainto_tsquery('russian', :text) " +
+            "OR i.name ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\' " +
+            "OR i.description ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\') " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b " +
+            "WHERE b.item_id = i.id AND b.status = 'APPROVED' " +
+            "AND b.start_date <= :end AND b.end_date >= :start) " +
+            "ORDER BY ts_rank(to_tsvector('russian', i.name || ' ' || i.description), " +
+            "plainto_tsquery('russian', :text)) DESC, i.id",
+            nativeQuery = true)
+    List<ItemSearchView> searchFullTextFreeBetween(@Param("text") String text,
+                                                   @Param("pattern") String pattern,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end,
+                                                   Pageable pageable);
 
     // Поиск вещей, принадлежащих конкретному пользователю
     List<Item> findByOwnerId(Long ownerId);
 
+    // Вещи вместе с владельцами по набору ID
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.id IN :ids")
+    List<Item> findWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Все вещи владельца для потоковой выгрузки, курсор читается порциями по fetchSize
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.id")
+    Stream<Item> streamByOwnerId(@Param("ownerId") Long ownerId);
+
     // Поиск вещей по requestId
     List<Item> findByRequestId(Long requestId);
+
+    // Поиск вещей для нескольких запросов одним запросом
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
 }
\ No newline at end of file
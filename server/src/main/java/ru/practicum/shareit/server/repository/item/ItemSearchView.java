@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.repository.item;
+
+// Проекция вещи для поиска: только поля, которые уходят в ответ
+public interface ItemSearchView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+}
@@ -1,23 +1,39 @@
 package ru.practicum.shareit.server.repository.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.model.request.Request;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RequestRepository extends JpaRepository<Request, Long> {
 
+    // ID существующих запросов из набора (проверка ссылок пакета вещей одним запросом)
+    @Query("SELECT r.id FROM Request r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     // Получить все запросы конкретного пользователя (сортировка по дате создания)
     List<Request> findByRequesterIdOrderByCreatedDesc(Long requesterId);
 
-    // Получить все запросы, кроме тех, что созданы конкретным пользователем (сортировка по дате создания)
-    @Query("SELECT r FROM Request r WHERE r.requester.id <> :userId ORDER BY r.created DESC")
-    List<Request> findAllExcludingRequester(@Param("userId") Long userId);
+    // Первая страница чужих запросов (keyset-пагинация по created, id)
+    @Query("SELECT r FROM Request r WHERE r.requester.id <> :userId ORDER BY r.created DESC, r.id DESC")
+    List<Request> findAllExcludingRequester(@Param("userId") Long userId, Pageable pageable);
+
+    // Следующая страница чужих запросов: строго после курсора (created, id)
+    @Query("SELECT r FROM Request r WHERE r.requester.id <> :userId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<Request> findAllExcludingRequesterBefore(@Param("userId") Long userId,
+                                                  @Param("created") LocalDateTime created,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
 
     // Получить запрос по ID
     Optional<Request> findById(Long requestId);
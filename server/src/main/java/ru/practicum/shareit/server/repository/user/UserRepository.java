@@ -1,10 +1,15 @@
 package ru.practicum.shareit.server.repository.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.server.model.user.User;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Страница пользователей после курсора (keyset-пагинация по первичному ключу)
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
 }
@@ -1,23 +1,32 @@
 package ru.practicum.shareit.server.service.booking;
 
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
 import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
 import ru.practicum.shareit.server.dto.booking.BookingDto;
 import ru.practicum.shareit.server.dto.booking.BookingShortDto;
 import ru.practicum.shareit.server.dto.booking.BookingState;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
     BookingDto addBooking(Long userId, BookingCreateDto createDto);
 
+    // Пакетное создание бронирований одного арендатора; результаты в порядке входного списка
+    List<BatchResultDto<BookingDto>> addBookings(Long userId, List<BookingCreateDto> createDtos);
+
     BookingDto updateBooking(Long userId, Long bookingId, Boolean approved);
 
     BookingDto getBookingById(Long bookingId);
 
-    List<BookingShortDto> getAllBookingsByUser(Long userId, BookingState state, Long requesterId);
+    List<BookingShortDto> getAllBookingsByUser(Long userId, BookingState state, Long requesterId,
+                                               Integer from, Integer size);
+
+    List<BookingShortDto> getAllBookingsForOwnerItems(Long ownerId, BookingState state, Integer from, Integer size);
 
-    List<BookingShortDto> getAllBookingsForOwnerItems(Long ownerId, BookingState state);
+    // Все бронирования вещей владельца по одному, от поздних к ранним
+    void streamBookingsForOwnerItems(Long ownerId, Consumer<BookingShortDto> action);
 
-    List<BookingDto> getAllBookings(BookingState state, Long requesterId);
+    List<BookingDto> getAllBookings(BookingState state, Long requesterId, Integer from, Integer size);
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package ru.practicum.shareit.server.service.booking;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
+import ru.practicum.shareit.server.exception.BadRequestException;
+import ru.practicum.shareit.server.exception.DataConflictException;
 import ru.practicum.shareit.server.exception.ForbiddenException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.model.booking.BookingStatus;
@@ -14,34 +23,53 @@ import ru.practicum.shareit.server.dto.booking.BookingState;
 import ru.practicum.shareit.server.mapper.booking.BookingMapper;
 import ru.practicum.shareit.server.model.booking.Booking;
 import ru.practicum.shareit.server.model.item.Item;
-import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.OffsetPageRequest;
+import ru.practicum.shareit.server.repository.booking.BookingIntervalView;
 import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.storage.item.ItemStorage;
+import ru.practicum.shareit.server.storage.user.UserStorage;
 import ru.practicum.shareit.server.model.user.User;
-import ru.practicum.shareit.server.repository.user.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    // ID упорядочивает бронирования с одинаковым началом: иначе при постраничном чтении со смещением
+    // такое бронирование может попасть на две страницы или не попасть ни на одну
+    private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "startDate")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+    private static final String OVERLAP_CONSTRAINT = "bookings_approved_no_overlap";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
+    private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
     public BookingDto addBooking(Long userId, BookingCreateDto createDto) {
-        // Проверяем существование пользователя
-        User booker = userRepository.findById(userId)
+        // Проверяем существование пользователя, бронированию нужен только его ID
+        User booker = userStorage.findUserReferenceById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID=" + userId + " не найден"));
 
         // Проверяем существование вещи
-        Item item = itemRepository.findById(createDto.getItemId())
+        Item item = itemStorage.findItemById(createDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь с ID=" + createDto.getItemId() + " не найдена"));
 
         // Проверяем, что вещь доступна для бронирования
@@ -49,28 +77,74 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Вещь с ID=" + createDto.getItemId() + " недоступна для бронирования");
         }
 
-        // Проверяем пересечение с существующими бронированиями
-        boolean isOverlapping = bookingRepository.existsByItemIdAndDateOverlap(
-                createDto.getItemId(),
-                createDto.getStart(),
-                createDto.getEnd()
-        );
-
-        if (isOverlapping) {
-            throw new IllegalArgumentException("Бронирование пересекается с существующими бронированиями");
-        }
+        // Проверяем пересечение с существующими бронированиями под блокировкой вещи
+        checkNoOverlap(item.getId(), createDto.getStart(), createDto.getEnd());
 
         // Создаем бронирование
         Booking booking = BookingMapper.toBooking(createDto, item, booker);
 
         // Сохраняем бронирование
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = saveChecked(booking);
 
         // Преобразуем в DTO и возвращаем
         return BookingMapper.toBookingDto(savedBooking);
     }
 
+    // Вещи пакета блокируются и читаются одной выборкой, пересечения с подтвержденными бронированиями
+    // проверяются по одной выборке интервалов, бронирования сохраняются одним saveAll.
+    // Ошибка элемента (нет вещи, вещь недоступна, пересечение) не мешает сохранить остальные
     @Override
+    @Transactional
+    public List<BatchResultDto<BookingDto>> addBookings(Long userId, List<BookingCreateDto> createDtos) {
+        User booker = userStorage.findUserReferenceById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с ID=" + userId + " не найден"));
+        if (createDtos.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds = createDtos.stream()
+                .map(BookingCreateDto::getItemId)
+                .distinct()
+                .sorted()
+                .toList();
+        bookingRepository.lockItems(itemIds);
+        Map<Long, Item> items = itemStorage.findItemsByIds(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        Map<Long, List<BookingIntervalView>> approved = findApprovedIntervals(itemIds, createDtos);
+
+        List<BatchResultDto<BookingDto>> results = new ArrayList<>(Collections.nCopies(createDtos.size(), null));
+        List<Integer> positions = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < createDtos.size(); i++) {
+            BookingCreateDto createDto = createDtos.get(i);
+            Item item = items.get(createDto.getItemId());
+            if (item == null) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.NOT_FOUND,
+                        "Вещь с ID=" + createDto.getItemId() + " не найдена"));
+            } else if (!item.getAvailable()) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.BAD_REQUEST,
+                        "Вещь с ID=" + createDto.getItemId() + " недоступна для бронирования"));
+            } else if (overlaps(approved.get(item.getId()), createDto.getStart(), createDto.getEnd())) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.CONFLICT,
+                        "Бронирование пересекается с существующими бронированиями"));
+            } else {
+                bookings.add(BookingMapper.toBooking(createDto, item, booker));
+                positions.add(i);
+            }
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        for (int j = 0; j < savedBookings.size(); j++) {
+            Booking saved = savedBookings.get(j);
+            availabilityIndex.update(saved);
+            int position = positions.get(j);
+            results.set(position, BatchResultDto.created(position, BookingMapper.toBookingDto(saved)));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
     public BookingDto updateBooking(Long userId, Long bookingId, Boolean approved) {
         // Находим бронирование
         var booking = bookingRepository.findById(bookingId)
@@ -81,14 +155,17 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenException("Пользователь с ID=" + userId + " не является владельцем вещи");
         }
 
-        // Обновляем статус
+        // Обновляем статус; подтверждение не должно пересекаться с уже подтвержденными бронированиями
         if (approved) {
+            if (booking.getStatus() != BookingStatus.APPROVED) {
+                checkNoOverlap(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate());
+            }
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(saveChecked(booking));
     }
 
     @Override
@@ -102,82 +179,166 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingShortDto> getAllBookingsByUser(Long userId, BookingState state, Long requesterId) {
+    public List<BookingShortDto> getAllBookingsByUser(Long userId, BookingState state, Long requesterId,
+                                                      Integer from, Integer size) {
         // Проверяем права доступа
         if (!Objects.equals(userId, requesterId)) {
             throw new ForbiddenException("Пользователь с ID=" + requesterId + " не имеет прав доступа");
         }
 
         // Проверяем существование пользователя
-        if (!userRepository.existsById(userId)) {
+        if (!userStorage.existsById(userId)) {
             throw new NotFoundException("Пользователь с ID=" + userId + " не найден");
         }
 
-        // Получаем все бронирования пользователя
-        var bookings = bookingRepository.findByBookerId(userId);
-
-        // Фильтруем по состоянию
-        var filteredBookings = filterBookingsByState(bookings, state);
+        // Получаем страницу бронирований пользователя в нужном состоянии
+        var bookings = findBookerBookings(userId, state, page(from, size));
 
-        return filteredBookings.stream()
+        return bookings.stream()
                 .map(BookingMapper::toBookingShortDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingShortDto> getAllBookingsForOwnerItems(Long ownerId, BookingState state) {
+    public List<BookingShortDto> getAllBookingsForOwnerItems(Long ownerId, BookingState state,
+                                                             Integer from, Integer size) {
         // Проверяем существование пользователя
-        if (!userRepository.existsById(ownerId)) {
+        if (!userStorage.existsById(ownerId)) {
             throw new NotFoundException("Пользователь с ID=" + ownerId + " не найден");
         }
 
-        // Получаем все бронирования для владельца
-        var bookings = bookingRepository.findByItem_Owner_Id(ownerId);
-
-        // Фильтруем по состоянию
-        return filterBookingsByState(bookings, state).stream()
+        // Получаем страницу бронирований для владельца в нужном состоянии
+        return findOwnerBookings(ownerId, state, page(from, size)).stream()
                 .map(BookingMapper::toBookingShortDto)
                 .collect(Collectors.toList());
     }
 
+    // Прочитанные бронирования отсоединяются от контекста, чтобы память не росла с размером выгрузки
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> getAllBookings(BookingState state, Long requesterId) {
+    public void streamBookingsForOwnerItems(Long ownerId, Consumer<BookingShortDto> action) {
+        if (!userStorage.existsById(ownerId)) {
+            throw new NotFoundException("Пользователь с ID=" + ownerId + " не найден");
+        }
+
+        try (Stream<Booking> bookings = bookingRepository.streamByItemOwnerId(ownerId)) {
+            bookings.forEach(booking -> {
+                action.accept(BookingMapper.toBookingShortDto(booking));
+                entityManager.detach(booking);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookings(BookingState state, Long requesterId, Integer from, Integer size) {
         // Проверяем права доступа
-        if (!userRepository.existsById(requesterId)) {
+        if (!userStorage.existsById(requesterId)) {
             throw new NotFoundException("Пользователь с ID=" + requesterId + " не найден");
         }
 
-        // Получаем все бронирования пользователя
-        List<Booking> bookings = bookingRepository.findByBookerId(requesterId);
-
-        // Фильтруем по состоянию
-        return filterBookingsByState(bookings, state).stream()
+        // Получаем страницу бронирований пользователя в нужном состоянии
+        return findBookerBookings(requesterId, state, page(from, size)).stream()
                 .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
 
-    private List<Booking> filterBookingsByState(List<Booking> bookings, BookingState state) {
+    // Вызывается внутри транзакции: блокировка вещи держится до записи бронирования
+    private void checkNoOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        bookingRepository.lockItem(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с ID=" + itemId + " не найдена"));
+
+        if (bookingRepository.existsByItemIdAndDateOverlap(itemId, start, end)) {
+            throw new DataConflictException("Бронирование пересекается с существующими бронированиями");
+        }
+    }
+
+    // Запись сразу отправляется в базу, чтобы нарушение ограничения bookings_approved_no_overlap (PostgreSQL)
+    // превратилось в конфликт, а не в ошибку при фиксации транзакции
+    // Индекс занятости обновляется после коммита
+    private Booking saveChecked(Booking booking) {
+        Booking saved;
+        try {
+            saved = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new DataConflictException("Бронирование пересекается с существующими бронированиями");
+            }
+            throw e;
+        }
+        availabilityIndex.update(saved);
+        return saved;
+    }
+
+    // Конфликтом считается только нарушение ограничения-исключения (SQLState 23P01) или ограничения
+    // bookings_approved_no_overlap по имени; нарушения внешних ключей, NOT NULL и прочие пробрасываются как есть
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Подтвержденные интервалы вещей пакета, пересекающие общий диапазон дат пакета, по ID вещи
+    private Map<Long, List<BookingIntervalView>> findApprovedIntervals(List<Long> itemIds,
+                                                                      List<BookingCreateDto> createDtos) {
+        LocalDateTime from = createDtos.stream()
+                .map(BookingCreateDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime to = createDtos.stream()
+                .map(BookingCreateDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        return bookingRepository.findApprovedIntervals(itemIds, from, to).stream()
+                .collect(Collectors.groupingBy(BookingIntervalView::getItemId));
+    }
+
+    // Границы включены, как в existsByItemIdAndDateOverlap
+    private static boolean overlaps(List<BookingIntervalView> intervals, LocalDateTime start, LocalDateTime end) {
+        return intervals != null && intervals.stream()
+                .anyMatch(interval -> !interval.getStart().isAfter(end) && !interval.getEnd().isBefore(start));
+    }
+
+    // Фильтрация по состоянию и пагинация выполняются в базе данных
+    private List<Booking> findBookerBookings(Long bookerId, BookingState state, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (state) {
+            case ALL -> bookingRepository.findByBookerId(bookerId, page);
+            case CURRENT -> bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(bookerId, now, now, page);
+            case PAST -> bookingRepository.findByBookerIdAndEndDateBefore(bookerId, now, page);
+            case FUTURE -> bookingRepository.findByBookerIdAndStartDateAfter(bookerId, now, page);
+            case WAITING -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, page);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, page);
+        };
+    }
+
+    private List<Booking> findOwnerBookings(Long ownerId, BookingState state, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
         return switch (state) {
-            case ALL -> bookings;
-            case CURRENT -> bookings.stream()
-                    .filter(b -> b.getStartDate()
-                            .isBefore(LocalDateTime.now()) && b.getEndDate()
-                            .isAfter(LocalDateTime.now()))
-                    .toList();
-            case PAST -> bookings.stream()
-                    .filter(b -> b.getEndDate().isBefore(LocalDateTime.now()))
-                    .toList();
-            case FUTURE -> bookings.stream()
-                    .filter(b -> b.getStartDate().isAfter(LocalDateTime.now()))
-                    .toList();
-            case WAITING -> bookings.stream()
-                    .filter(b -> b.getStatus() == BookingStatus.WAITING)
-                    .toList();
-            case REJECTED -> bookings.stream()
-                    .filter(b -> b.getStatus() == BookingStatus.REJECTED)
-                    .toList();
+            case ALL -> bookingRepository.findByItem_Owner_Id(ownerId, page);
+            case CURRENT ->
+                    bookingRepository.findByItem_Owner_IdAndStartDateBeforeAndEndDateAfter(ownerId, now, now, page);
+            case PAST -> bookingRepository.findByItem_Owner_IdAndEndDateBefore(ownerId, now, page);
+            case FUTURE -> bookingRepository.findByItem_Owner_IdAndStartDateAfter(ownerId, now, page);
+            case WAITING -> bookingRepository.findByItem_Owner_IdAndStatus(ownerId, BookingStatus.WAITING, page);
+            case REJECTED -> bookingRepository.findByItem_Owner_IdAndStatus(ownerId, BookingStatus.REJECTED, page);
         };
     }
+
+    // from - индекс первого бронирования, а не номер страницы
+    private static Pageable page(Integer from, Integer size) {
+        if (from < 0 || size < 1) {
+            throw new BadRequestException("Параметр from не может быть отрицательным, size должен быть больше нуля");
+        }
+        return OffsetPageRequest.of(from, size, SORT_BY_START_DESC);
+    }
 }
\ No newline at end of file
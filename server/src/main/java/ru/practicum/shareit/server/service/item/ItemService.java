@@ -1,13 +1,21 @@
 package ru.practicum.shareit.server.service.item;
 
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
+import ru.practicum.shareit.server.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.server.dto.item.CommentDto;
 import ru.practicum.shareit.server.dto.item.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto addItem(Long userId, ItemDto dto);
 
+    // Пакетное добавление вещей одного владельца; результаты в порядке входного списка
+    List<BatchResultDto<ItemDto>> addItems(Long userId, List<ItemDto> dtos);
+
     ItemDto updateItem(Long userId, Long itemId, ItemDto dto);
 
     ItemDto getItemById(Long itemId);
@@ -16,11 +24,20 @@ public interface ItemService {
 
     Collection<ItemDto> getItemsByOwnerId(Long ownerId);
 
+    // Все вещи владельца по одному, без бронирований и комментариев
+    void streamItemsByOwnerId(Long ownerId, Consumer<ItemDto> action);
+
+    // Комментарии ко всем вещам владельца по одному, сгруппированные по вещи
+    void streamCommentsByOwnerId(Long ownerId, Consumer<CommentDto> action);
+
     void deleteItemById(Long itemId);
 
     void deleteAllItems();
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 
-    Collection<ItemDto> searchItems(String text);
+    // start и end необязательны: если заданы, возвращаются только вещи, свободные на этом интервале
+    Collection<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
+
+    List<AvailabilityWindowDto> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.server.service.item;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.dto.booking.BookingShortDto;
 import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.booking.BookingTimelineView;
 import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.exception.ForbiddenException;
 
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
+import ru.practicum.shareit.server.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.server.dto.item.CommentDto;
 import ru.practicum.shareit.server.dto.item.ItemDto;
 import ru.practicum.shareit.server.mapper.item.CommentMapper;
@@ -16,6 +21,8 @@ import ru.practicum.shareit.server.mapper.item.ItemMapper;
 import ru.practicum.shareit.server.model.item.Comment;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.repository.item.CommentRepository;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
 import ru.practicum.shareit.server.storage.item.ItemStorage;
 import ru.practicum.shareit.server.storage.request.RequestStorage;
 import ru.practicum.shareit.server.model.user.User;
@@ -23,7 +30,9 @@ import ru.practicum.shareit.server.storage.user.UserStorage;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,11 +43,14 @@ public class ItemServiceImpl implements ItemService {
     private final UserStorage userStorage;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
 
     @Override
+    @Transactional
     public ItemDto addItem(Long userId, ItemDto dto) {
-        // Проверяем существование пользователя
-        User owner = userStorage.findUserById(userId)
+        // Проверяем существование пользователя, владельцу вещи нужен только ID
+        User owner = userStorage.findUserReferenceById(userId)
                 .orElseThrow(() -> new NoSuchElementException("Пользователь с ID=" + userId + " не найден"));
 
         // Если requestId указан, проверяем существование запроса
@@ -56,6 +68,45 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.toItemDto(savedItem);
     }
 
+    // Владелец и запросы проверяются одной выборкой на пакет, вещи сохраняются одним saveAll.
+    // Вещь со ссылкой на несуществующий запрос не сохраняется, остальные сохраняются
+    @Override
+    @Transactional
+    public List<BatchResultDto<ItemDto>> addItems(Long userId, List<ItemDto> dtos) {
+        User owner = userStorage.findUserReferenceById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с ID=" + userId + " не найден"));
+
+        Set<Long> requestIds = dtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestStorage.findExistingIds(requestIds);
+
+        List<BatchResultDto<ItemDto>> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+        List<Integer> positions = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            ItemDto dto = dtos.get(i);
+            if (dto.getRequestId() != null && !existingRequestIds.contains(dto.getRequestId())) {
+                results.set(i, BatchResultDto.failed(i, HttpStatus.NOT_FOUND,
+                        "Запрос с ID=" + dto.getRequestId() + " не найден"));
+                continue;
+            }
+            Item item = ItemMapper.toItem(dto);
+            item.setId(null);
+            item.setOwner(owner);
+            items.add(item);
+            positions.add(i);
+        }
+
+        List<Item> savedItems = itemStorage.addItems(items);
+        for (int j = 0; j < savedItems.size(); j++) {
+            int position = positions.get(j);
+            results.set(position, BatchResultDto.created(position, ItemMapper.toItemDto(savedItems.get(j))));
+        }
+        return results;
+    }
+
     @Transactional
     @Override
     public ItemDto updateItem(Long userId, Long itemId, ItemDto dto) {
@@ -81,7 +132,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public ItemDto getItemById(Long itemId) {
-        Item item = itemStorage.findItemById(itemId)
+        Item item = itemStorage.findItemSnapshotById(itemId)
                 .orElseThrow(() -> new NoSuchElementException("Вещь с ID=" + itemId + " не найдена"));
 
         List<CommentDto> comments = commentRepository.findByItemId(itemId).stream()
@@ -97,54 +148,96 @@ public class ItemServiceImpl implements ItemService {
         // Получаем вещи пользователя
         Collection<Item> items = itemStorage.getItemsByOwnerId(userId);
         // Добавляем информацию о бронированиях
-        return items.stream()
-                .map(this::mapItemWithBookings)
-                .collect(Collectors.toList());
+        return mapItemsWithBookings(items);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemDto> getItemsByOwnerId(Long ownerId) {
         Collection<Item> items = itemStorage.getItemsByOwnerId(ownerId);
-        return items.stream()
-                .map(this::mapItemWithBookings)
-                .collect(Collectors.toList());
+        return mapItemsWithBookings(items);
+    }
+
+    // Прочитанные сущности отсоединяются от контекста, чтобы память не росла с размером выгрузки
+    @Override
+    @Transactional(readOnly = true)
+    public void streamItemsByOwnerId(Long ownerId, Consumer<ItemDto> action) {
+        if (!userStorage.existsById(ownerId)) {
+            throw new NotFoundException("Пользователь с ID=" + ownerId + " не найден");
+        }
+
+        try (Stream<Item> items = itemStorage.streamItemsByOwnerId(ownerId)) {
+            items.forEach(item -> {
+                action.accept(ItemMapper.toItemDto(item));
+                entityManager.detach(item);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCommentsByOwnerId(Long ownerId, Consumer<CommentDto> action) {
+        if (!userStorage.existsById(ownerId)) {
+            throw new NotFoundException("Пользователь с ID=" + ownerId + " не найден");
+        }
+
+        try (Stream<Comment> comments = commentRepository.streamByItemOwnerId(ownerId)) {
+            comments.forEach(comment -> {
+                action.accept(CommentMapper.toCommentDto(comment));
+                entityManager.detach(comment.getAuthor());
+                entityManager.detach(comment);
+            });
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<ItemDto> searchItems(String text) {
+    public Collection<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end,
+                                           Integer from, Integer size) {
+        if (from < 0 || size < 1) {
+            throw new BadRequestException("Параметр from не может быть отрицательным, size должен быть больше нуля");
+        }
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
-        String lowerCaseText = text.toLowerCase();
-        return itemStorage.getAllItems().stream()
-                .filter(Item::getAvailable)
-                .filter(item -> item.getName().toLowerCase().contains(lowerCaseText) ||
-                        item.getDescription().toLowerCase().contains(lowerCaseText))
+        if ((start == null) != (end == null)) {
+            throw new BadRequestException("Параметры start и end должны передаваться вместе");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new BadRequestException("Параметр start должен быть раньше end");
+        }
+        // Фильтрация, ранжирование, проверка занятости и пагинация выполняются на стороне базы данных
+        List<ItemSearchView> items = start == null
+                ? itemStorage.searchItems(text, from, size)
+                : itemStorage.searchItemsFreeBetween(text, start, end, from, size);
+        return items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public void deleteItemById(Long itemId) {
         itemStorage.deleteItemById(itemId);
+        availabilityIndex.removeItem(itemId);
     }
 
     @Override
+    @Transactional
     public void deleteAllItems() {
         itemStorage.deleteAllItems();
+        availabilityIndex.clear();
     }
 
     @Transactional
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
-        // 1. Проверяем существование пользователя
-        User user = userStorage.findUserById(userId)
+        // 1. Проверяем существование пользователя; имя автора для ответа берется из копии только для чтения
+        User user = userStorage.findUserSnapshotById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID=" + userId + " не найден"));
 
-        // 2. Проверяем существование вещи
-        Item item = itemStorage.findItemById(itemId)
+        // 2. Проверяем существование вещи, комментарию нужен только ее ID
+        Item item = itemStorage.findItemReferenceById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с ID=" + itemId + " не найдена"));
 
         // 3. Проверяем, что пользователь арендовал вещь с подтвержденным статусом
@@ -169,11 +262,51 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(savedComment);
     }
 
-    // Вспомогательный метод для добавления бронирований в DTO
-    private ItemDto mapItemWithBookings(Item item) {
+    // Вспомогательный метод для добавления бронирований в DTO:
+    // последнее и ближайшее бронирования всех вещей загружаются одним запросом
+    private List<ItemDto> mapItemsWithBookings(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+
+        Map<Long, BookingShortDto> lastBookings = new HashMap<>();
+        Map<Long, BookingShortDto> nextBookings = new HashMap<>();
+        for (BookingTimelineView view : bookingRepository.findBookingTimeline(itemIds, LocalDateTime.now())) {
+            Map<Long, BookingShortDto> target = BookingTimelineView.LAST.equals(view.getKind())
+                    ? lastBookings
+                    : nextBookings;
+            target.put(view.getItemId(), ItemMapper.toBookingShortDto(view));
+        }
+
+        return items.stream()
+                .map(item -> ItemMapper.toItemDtoWithBookings(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<AvailabilityWindowDto> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Начало интервала должно быть раньше конца");
+        }
+        if (!itemStorage.existsById(itemId)) {
+            throw new NotFoundException("Вещь с ID=" + itemId + " не найдена");
+        }
+
+        // Индекс хранит только незавершенные бронирования, поэтому прошедшее время не рассматривается
         LocalDateTime now = LocalDateTime.now();
-        Booking lastBooking = bookingRepository.findLastBooking(item.getId(), now).orElse(null);
-        Booking nextBooking = bookingRepository.findNextBooking(item.getId(), now).orElse(null);
-        return ItemMapper.toItemDtoWithBookings(item, lastBooking, nextBooking);
+        LocalDateTime start = from.isBefore(now) ? now : from;
+        if (!start.isBefore(to)) {
+            return Collections.emptyList();
+        }
+
+        return availabilityIndex.findFreeWindows(itemId, start, to).stream()
+                .map(window -> new AvailabilityWindowDto(window.getStart(), window.getEnd()))
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
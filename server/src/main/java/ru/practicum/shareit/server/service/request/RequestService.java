@@ -2,6 +2,7 @@ package ru.practicum.shareit.server.service.request;
 
 import ru.practicum.shareit.server.dto.request.RequestDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestService {
@@ -12,8 +13,8 @@ public interface RequestService {
     // Получить все запросы конкретного пользователя
     List<RequestDto> getAllRequestsByUser(Long userId);
 
-    // Получить все запросы, кроме тех, что созданы конкретным пользователем
-    List<RequestDto> getAllRequestsExcludingUser(Long userId);
+    // Получить страницу запросов, кроме тех, что созданы конкретным пользователем (курсор: created, id)
+    List<RequestDto> getAllRequestsExcludingUser(Long userId, LocalDateTime afterCreated, Long afterId, Integer size);
 
     // Получить один запрос по ID
     RequestDto getRequestById(Long requestId);
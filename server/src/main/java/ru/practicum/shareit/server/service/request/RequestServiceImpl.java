@@ -2,6 +2,7 @@ package ru.practicum.shareit.server.service.request;
 
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import ru.practicum.shareit.server.exception.NotFoundException;
@@ -12,10 +13,12 @@ import ru.practicum.shareit.server.mapper.request.RequestMapper;
 import ru.practicum.shareit.server.model.request.Request;
 import ru.practicum.shareit.server.repository.request.RequestRepository;
 import ru.practicum.shareit.server.model.user.User;
-import ru.practicum.shareit.server.repository.user.UserRepository;
+import ru.practicum.shareit.server.storage.user.UserStorage;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,13 +27,13 @@ public class RequestServiceImpl implements RequestService {
 
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserStorage userStorage;
 
     @Override
     @Transactional
     public RequestDto createRequest(Long userId, RequestDto requestDto) {
-        // Проверяем существование пользователя
-        User requester = userRepository.findById(userId)
+        // Проверяем существование пользователя, запросу нужен только его ID
+        User requester = userStorage.findUserReferenceById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID=" + userId + " не найден"));
 
         // Создаем сущность Request из DTO
@@ -53,22 +56,22 @@ public class RequestServiceImpl implements RequestService {
         List<Request> requests = requestRepository.findByRequesterIdOrderByCreatedDesc(userId);
 
         // Преобразуем в DTO
-        return requests.stream()
-                .map(this::convertToDtoWithItems) // Преобразуем каждый запрос в DTO
-                .collect(Collectors.toList());
+        return convertToDtosWithItems(requests);
     }
 
     // Получить все запросы, кроме тех, что созданы конкретным пользователем
     @Override
     @Transactional(readOnly = true)
-    public List<RequestDto> getAllRequestsExcludingUser(Long userId) {
-        // Находим все запросы, кроме тех, что созданы пользователем
-        List<Request> requests = requestRepository.findAllExcludingRequester(userId);
+    public List<RequestDto> getAllRequestsExcludingUser(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                        Integer size) {
+        // Keyset-пагинация: без курсора - первая страница, иначе запросы строго после (afterCreated, afterId)
+        PageRequest page = PageRequest.of(0, size);
+        List<Request> requests = afterCreated == null || afterId == null
+                ? requestRepository.findAllExcludingRequester(userId, page)
+                : requestRepository.findAllExcludingRequesterBefore(userId, afterCreated, afterId, page);
 
         // Преобразуем в DTO
-        return requests.stream()
-                .map(this::convertToDtoWithItems) // Преобразуем каждый запрос в DTO
-                .collect(Collectors.toList());
+        return convertToDtosWithItems(requests);
     }
 
     // Получить один запрос по ID
@@ -92,4 +95,21 @@ public class RequestServiceImpl implements RequestService {
         return RequestMapper.toRequestDto(request, items);
     }
 
+    // Преобразование списка запросов в DTO: вещи всех запросов загружаются одним запросом
+    private List<RequestDto> convertToDtosWithItems(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(Request::getId)
+                .toList();
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+
+        return requests.stream()
+                .map(request -> RequestMapper.toRequestDto(request,
+                        itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package ru.practicum.shareit.server.service.user;
 import ru.practicum.shareit.server.dto.user.UserDto;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto addUser(UserDto dto);
@@ -11,7 +12,9 @@ public interface UserService {
 
     UserDto getUserById(Long id);
 
-    Collection<UserDto> getAllUsers();
+    Collection<UserDto> getAllUsers(Long afterId, int limit);
+
+    void streamAllUsers(Long afterId, Consumer<UserDto> action);
 
     void deleteUserById(Long id);
 
@@ -4,12 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.server.dto.user.UserDto;
+import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.mapper.user.UserMapper;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.storage.user.UserStorage;
 
 import java.util.Collection;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +20,7 @@ public class UserServiceImpl implements UserService {
     private final UserStorage userStorage;
 
     @Override
+    @Transactional
     public UserDto addUser(UserDto dto) {
         // Создаём пользователя
         User user = UserMapper.toUser(dto);
@@ -26,6 +29,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(Long id, UserDto dto) {
         User existingUser = userStorage.findUserById(id)
                 .orElseThrow(() -> new NoSuchElementException("Пользователь с ID=" + id + " не найден"));
@@ -48,25 +52,36 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
-        return userStorage.findUserById(id)
+        return userStorage.findUserSnapshotById(id)
                 .map(UserMapper::toUserDto)
                 .orElseThrow(() -> new NoSuchElementException("Пользователь с ID=" + id + " не найден"));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<UserDto> getAllUsers() {
-        return userStorage.getAllUsers().stream()
+    public Collection<UserDto> getAllUsers(Long afterId, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Параметр limit должен быть больше нуля");
+        }
+        return userStorage.getAllUsers(afterId, limit).stream()
                 .map(UserMapper::toUserDto)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Long afterId, Consumer<UserDto> action) {
+        userStorage.streamAllUsers(afterId, user -> action.accept(UserMapper.toUserDto(user)));
+    }
+
+    @Override
+    @Transactional
     public void deleteUserById(Long id) {
         userStorage.deleteUserById(id);
     }
 
     @Override
+    @Transactional
     public void deleteAllUsers() {
         userStorage.deleteAllUsers();
     }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.server.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Общие операции кеширующих хранилищ
+public final class StorageCaches {
+
+    private StorageCaches() {
+    }
+
+    // Ограниченный по размеру кеш с TTL; статистика попаданий публикуется в actuator как cache.gets{cache=name}
+    public static <K, V> Cache<K, V> create(String name, long maximumSize, Duration ttl, MeterRegistry registry) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    // Удаление записи сразу и повторно после завершения транзакции:
+    // иначе параллельное чтение до коммита может снова закешировать старое значение
+    public static <K> void evict(Cache<K, ?> cache, K key) {
+        cache.invalidate(key);
+        afterCompletion(() -> cache.invalidate(key));
+    }
+
+    public static void evictAll(Cache<?, ?> cache) {
+        cache.invalidateAll();
+        afterCompletion(cache::invalidateAll);
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package ru.practicum.shareit.server.storage.booking;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.repository.booking.BookingIntervalView;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Индекс занятости вещей в памяти: деревья интервалов подтвержденных и ожидающих бронирований по каждой вещи.
+// Строится при старте из незавершенных бронирований и обновляется сервисом бронирований после коммита.
+// Индекс локален для экземпляра сервера, поэтому проверка пересечений при записи остается в базе.
+// Завершившиеся бронирования удаляются фоновой очисткой раз в sweep-interval, вещи - при удалении
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+
+    private static final Set<BookingStatus> INDEXED_STATUSES = EnumSet.of(BookingStatus.APPROVED,
+            BookingStatus.WAITING);
+
+    private final BookingRepository bookingRepository;
+    private final Duration sweepInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-index-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.availability-index.sweep-interval:10m}") Duration sweepInterval) {
+        this.bookingRepository = bookingRepository;
+        this.sweepInterval = sweepInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        rebuild();
+        long millis = sweepInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> evictEndedBefore(LocalDateTime.now()), millis, millis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // Полная перестройка из базы: при старте и после изменения бронирований в обход сервиса
+    public synchronized void rebuild() {
+        Map<Long, ItemTimeline> rebuilt = new ConcurrentHashMap<>();
+        List<BookingIntervalView> intervals = bookingRepository.findActiveIntervals(INDEXED_STATUSES,
+                LocalDateTime.now());
+        for (BookingIntervalView interval : intervals) {
+            rebuilt.computeIfAbsent(interval.getItemId(), id -> new ItemTimeline())
+                    .put(interval.getId(), interval.getStart(), interval.getEnd(), interval.getStatus());
+        }
+        timelines = rebuilt;
+        log.info("Индекс занятости построен: {} бронирований, {} вещей", intervals.size(), rebuilt.size());
+    }
+
+    // Учитывает новое состояние бронирования после коммита транзакции (сразу, если транзакции нет)
+    public void update(Booking booking) {
+        Long bookingId = booking.getId();
+        Long itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStartDate();
+        LocalDateTime end = booking.getEndDate();
+        BookingStatus status = booking.getStatus();
+        afterCommit(() -> timelines.compute(itemId, (id, timeline) -> {
+            ItemTimeline target = timeline == null ? new ItemTimeline() : timeline;
+            target.put(bookingId, start, end, status);
+            return target.isEmpty() ? null : target;
+        }));
+    }
+
+    // Удаляет вещь из индекса после коммита удаления (сразу, если транзакции нет)
+    public void removeItem(Long itemId) {
+        afterCommit(() -> timelines.remove(itemId));
+    }
+
+    // Очищает индекс после коммита удаления всех вещей
+    public void clear() {
+        afterCommit(() -> timelines.clear());
+    }
+
+    // Удаляет бронирования, закончившиеся раньше time, и вещи без оставшихся бронирований.
+    // Изменения вещи выполняются внутри compute, поэтому не теряют параллельный update
+    public void evictEndedBefore(LocalDateTime time) {
+        int evicted = 0;
+        for (Long itemId : timelines.keySet()) {
+            int[] removed = new int[1];
+            timelines.computeIfPresent(itemId, (id, timeline) -> {
+                removed[0] = timeline.removeEndedBefore(time);
+                return timeline.isEmpty() ? null : timeline;
+            });
+            evicted += removed[0];
+        }
+        log.debug("Из индекса занятости удалено {} завершившихся бронирований, осталось {} вещей",
+                evicted, timelines.size());
+    }
+
+    // Число вещей с незавершенными бронированиями в индексе
+    public int itemCount() {
+        return timelines.size();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Свободна ли вещь на всем интервале [from, to]
+    public boolean isFree(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null || timeline.isFree(from, to);
+    }
+
+    // Свободные окна внутри [from, to]; границы окон совпадают с концом и началом соседних бронирований
+    public List<IntervalTree.Interval> findFreeWindows(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemTimeline timeline = timelines.get(itemId);
+        List<IntervalTree.Interval> busy = timeline == null ? List.of() : timeline.findBusy(from, to);
+
+        List<IntervalTree.Interval> windows = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (IntervalTree.Interval interval : busy) {
+            if (interval.getStart().isAfter(cursor)) {
+                windows.add(new IntervalTree.Interval(cursor, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(cursor)) {
+                cursor = interval.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            windows.add(new IntervalTree.Interval(cursor, to));
+        }
+        return windows;
+    }
+
+    // Бронирования одной вещи; подтвержденные и ожидающие хранятся раздельно
+    private static final class ItemTimeline {
+        private final IntervalTree approved = new IntervalTree();
+        private final IntervalTree waiting = new IntervalTree();
+
+        private synchronized void put(Long bookingId, LocalDateTime start, LocalDateTime end,
+                                      BookingStatus status) {
+            approved.remove(bookingId);
+            waiting.remove(bookingId);
+            switch (status) {
+                case APPROVED -> approved.put(bookingId, start, end);
+                case WAITING -> waiting.put(bookingId, start, end);
+                default -> {
+                    // Отклоненные и отмененные бронирования вещь не занимают
+                }
+            }
+        }
+
+        private synchronized int removeEndedBefore(LocalDateTime time) {
+            return approved.removeEndedBefore(time) + waiting.removeEndedBefore(time);
+        }
+
+        private synchronized boolean isEmpty() {
+            return approved.size() == 0 && waiting.size() == 0;
+        }
+
+        private synchronized boolean isFree(LocalDateTime from, LocalDateTime to) {
+            return !approved.overlaps(from, to) && !waiting.overlaps(from, to);
+        }
+
+        private synchronized List<IntervalTree.Interval> findBusy(LocalDateTime from, LocalDateTime to) {
+            List<IntervalTree.Interval> busy = new ArrayList<>(approved.findOverlapping(from, to));
+            busy.addAll(waiting.findOverlapping(from, to));
+            busy.sort(Comparator.comparing(IntervalTree.Interval::getStart));
+            return busy;
+        }
+    }
+}
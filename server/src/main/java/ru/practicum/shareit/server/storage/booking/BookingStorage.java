@@ -15,10 +15,6 @@ public interface BookingStorage {
 
     Collection<Booking> getAllBookings();
 
-    Collection<Booking> getBookingsByBookerId(Long bookerId);
-
-    Collection<Booking> getBookingsByItemId(Long itemId);
-
     void deleteBookingById(Long bookingId);
 
     void deleteAllBookings();
@@ -38,16 +38,6 @@ public class DatabaseBookingStorage implements BookingStorage {
         return bookingRepository.findAll();
     }
 
-    @Override
-    public Collection<Booking> getBookingsByBookerId(Long bookerId) {
-        return bookingRepository.findByBookerId(bookerId);
-    }
-
-    @Override
-    public Collection<Booking> getBookingsByItemId(Long itemId) {
-        return bookingRepository.findByItemId(itemId);
-    }
-
     @Override
     public void deleteBookingById(Long bookingId) {
         bookingRepository.deleteById(bookingId);
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.server.storage.booking;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Дерево интервалов бронирований одной вещи: декартово дерево по (start, id), в каждом узле хранится
+// максимальный конец интервала в поддереве. Вставка, удаление и проверка пересечения - O(log n) в среднем.
+// Границы интервалов включены, как в BookingRepository.existsByItemIdAndDateOverlap. Не потокобезопасно
+public class IntervalTree {
+
+    private final Map<Long, Node> nodesById = new HashMap<>();
+    private Node root;
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    // Добавляет интервал или заменяет интервал с тем же ID
+    public void put(Long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        nodesById.put(id, node);
+    }
+
+    public void remove(Long id) {
+        Node node = nodesById.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    // Удаляет интервалы, закончившиеся раньше time; возвращает число удаленных
+    public int removeEndedBefore(LocalDateTime time) {
+        List<Long> ended = nodesById.values().stream()
+                .filter(node -> node.end.isBefore(time))
+                .map(node -> node.id)
+                .toList();
+        ended.forEach(this::remove);
+        return ended.size();
+    }
+
+    // Есть ли интервал, пересекающийся с [from, to]
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        Node node = root;
+        while (node != null) {
+            if (node.overlaps(from, to)) {
+                return true;
+            }
+            // Ключи упорядочены по началу: если пересечение есть справа, то есть и слева
+            node = node.left != null && !node.left.maxEnd.isBefore(from) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // Интервалы, пересекающиеся с [from, to], в порядке начала: O(log n + k)
+    public List<Interval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Interval> result) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (node.overlaps(from, to)) {
+            result.add(new Interval(node.start, node.end));
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+        root.update();
+        return root;
+    }
+
+    // Слияние поддеревьев удаленного узла: все ключи left меньше ключей right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        return right;
+    }
+
+    // Занятый интервал
+    @Data
+    public static class Interval {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Long id, LocalDateTime start, LocalDateTime end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return !start.isAfter(to) && !end.isBefore(from);
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.server.storage.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.server.datasource.PrimaryReader;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.request.Request;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
+import ru.practicum.shareit.server.storage.StorageCaches;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Кеширующая обертка над DatabaseItemStorage для чтения вещи по ID и проверки существования.
+// Изменения и проверки перед записью (findItemById) всегда читают управляемую сущность из базы:
+// устаревшая копия из кеша могла бы затереть чужое обновление или пропустить снятую с аренды вещь.
+// Связи новых сущностей (findItemReferenceById) проверяют существование по кешу и не загружают вещь
+@Repository
+@Primary
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "true")
+public class CachingItemStorage implements ItemStorage {
+
+    private final DatabaseItemStorage delegate;
+    private final Cache<Long, Item> cache;
+    private final PrimaryReader primaryReader;
+    private final EntityManager entityManager;
+
+    public CachingItemStorage(DatabaseItemStorage delegate,
+                              PrimaryReader primaryReader,
+                              EntityManager entityManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${shareit.cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.primaryReader = primaryReader;
+        this.entityManager = entityManager;
+        this.cache = StorageCaches.create("items", maximumSize, ttl, meterRegistry);
+    }
+
+    @Override
+    public Item addItem(Item item) {
+        return delegate.addItem(item);
+    }
+
+    @Override
+    public List<Item> addItems(List<Item> items) {
+        return delegate.addItems(items);
+    }
+
+    @Override
+    public Item updateItem(Long itemId, Item updatedItem) {
+        StorageCaches.evict(cache, itemId);
+        return delegate.updateItem(itemId, updatedItem);
+    }
+
+    // Пакетные операции блокируют вещи и читают их из базы, поэтому кеш не используется
+    @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return delegate.findItemsByIds(itemIds);
+    }
+
+    @Override
+    public Optional<Item> findItemById(Long itemId) {
+        return delegate.findItemById(itemId);
+    }
+
+    @Override
+    public Optional<Item> findItemSnapshotById(Long itemId) {
+        Item item = cache.get(itemId, this::load);
+        // Копия защищает закешированную вещь от изменений вызывающим кодом
+        return Optional.ofNullable(item).map(cached -> cached.toBuilder().build());
+    }
+
+    @Override
+    public Optional<Item> findItemReferenceById(Long itemId) {
+        return existsById(itemId) ? Optional.of(entityManager.getReference(Item.class, itemId)) : Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(Long itemId) {
+        return cache.get(itemId, this::load) != null;
+    }
+
+    @Override
+    public Collection<Item> getAllItems() {
+        return delegate.getAllItems();
+    }
+
+    @Override
+    public Collection<Item> getItemsByOwnerId(Long ownerId) {
+        return delegate.getItemsByOwnerId(ownerId);
+    }
+
+    @Override
+    public Stream<Item> streamItemsByOwnerId(Long ownerId) {
+        return delegate.streamItemsByOwnerId(ownerId);
+    }
+
+    @Override
+    public List<ItemSearchView> searchItems(String text, int from, int size) {
+        return delegate.searchItems(text, from, size);
+    }
+
+    @Override
+    public List<ItemSearchView> searchItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                                       int from, int size) {
+        return delegate.searchItemsFreeBetween(text, start, end, from, size);
+    }
+
+    @Override
+    public void deleteItemById(Long itemId) {
+        StorageCaches.evict(cache, itemId);
+        delegate.deleteItemById(itemId);
+    }
+
+    @Override
+    public void deleteAllItems() {
+        StorageCaches.evictAll(cache);
+        delegate.deleteAllItems();
+    }
+
+    // В кеш кладется копия, а не сущность, привязанная к текущей сессии Hibernate. Ленивые прокси owner и request
+    // после закрытия сессии не загружаются, поэтому вместо них - ссылки только с ID.
+    // Запись читается с основной базы: значение с отстающей реплики осталось бы в кеше на весь TTL
+    private Item load(Long id) {
+        return primaryReader.read(() -> delegate.findItemById(id)
+                .map(CachingItemStorage::snapshot)
+                .orElse(null));
+    }
+
+    private static Item snapshot(Item item) {
+        Long ownerId = item.getOwner() != null ? item.getOwner().getId() : null;
+        return item.toBuilder()
+                .owner(ownerId != null ? User.builder().id(ownerId).build() : null)
+                .request(item.getRequestId() != null ? Request.builder().id(item.getRequestId()).build() : null)
+                .build();
+    }
+}
@@ -1,22 +1,33 @@
 package ru.practicum.shareit.server.storage.item;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.repository.OffsetPageRequest;
 import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Profile("!in-memory")
 public class DatabaseItemStorage implements ItemStorage {
 
     private final ItemRepository itemRepository;
+    // Полнотекстовый поиск доступен только в PostgreSQL, на H2 используется поиск по подстроке
+    private final boolean fullTextSearch;
 
-    public DatabaseItemStorage(ItemRepository itemRepository) {
+    public DatabaseItemStorage(ItemRepository itemRepository,
+                               @Value("${shareit.search.full-text:false}") boolean fullTextSearch) {
         this.itemRepository = itemRepository;
+        this.fullTextSearch = fullTextSearch;
     }
 
     @Override
@@ -24,6 +35,16 @@ public class DatabaseItemStorage implements ItemStorage {
         return itemRepository.save(item);
     }
 
+    @Override
+    public List<Item> addItems(List<Item> items) {
+        return itemRepository.saveAll(items);
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return itemRepository.findWithOwnerByIdIn(itemIds);
+    }
+
     @Override
     public Item updateItem(Long itemId, Item updatedItem) {
         if (!itemRepository.existsById(itemId)) {
@@ -38,6 +59,22 @@ public class DatabaseItemStorage implements ItemStorage {
         return itemRepository.findById(itemId);
     }
 
+    @Override
+    public Optional<Item> findItemSnapshotById(Long itemId) {
+        return itemRepository.findById(itemId);
+    }
+
+    @Override
+    public Optional<Item> findItemReferenceById(Long itemId) {
+        return itemRepository.existsById(itemId) ? Optional.of(itemRepository.getReferenceById(itemId))
+                : Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(Long itemId) {
+        return itemRepository.existsById(itemId);
+    }
+
     @Override
     public Collection<Item> getAllItems() {
         return itemRepository.findAll();
@@ -48,6 +85,30 @@ public class DatabaseItemStorage implements ItemStorage {
         return itemRepository.findByOwnerId(ownerId);
     }
 
+    @Override
+    public Stream<Item> streamItemsByOwnerId(Long ownerId) {
+        return itemRepository.streamByOwnerId(ownerId);
+    }
+
+    @Override
+    public List<ItemSearchView> searchItems(String text, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        if (fullTextSearch) {
+            return itemRepository.searchFullText(text, ItemRepository.escapeLike(text), page);
+        }
+        return itemRepository.searchAvailable(ItemRepository.escapeLike(text), page);
+    }
+
+    @Override
+    public List<ItemSearchView> searchItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                                       int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        if (fullTextSearch) {
+            return itemRepository.searchFullTextFreeBetween(text, ItemRepository.escapeLike(text), start, end, page);
+        }
+        return itemRepository.searchAvailableFreeBetween(ItemRepository.escapeLike(text), start, end, page);
+    }
+
     @Override
     public void deleteItemById(Long itemId) {
         if (!itemRepository.existsById(itemId)) {
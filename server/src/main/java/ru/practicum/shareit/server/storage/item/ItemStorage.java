@@ -1,21 +1,49 @@
 package ru.practicum.shareit.server.storage.item;
 
 import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemStorage {
     Item addItem(Item item);
 
+    // Сохранение пакета вещей; возвращает сохраненные вещи в том же порядке
+    List<Item> addItems(List<Item> items);
+
     Item updateItem(Long itemId, Item updatedItem);
 
+    // Управляемая сущность из базы: для изменений и проверок перед записью
     Optional<Item> findItemById(Long itemId);
 
+    // Вещь только для чтения: может быть копией из кеша, связи owner и request в ней - ссылки только с ID
+    Optional<Item> findItemSnapshotById(Long itemId);
+
+    // Ссылка на существующую вещь без загрузки полей: для связей новых сущностей
+    Optional<Item> findItemReferenceById(Long itemId);
+
+    boolean existsById(Long itemId);
+
+    // Вещи с владельцами по набору ID одной выборкой; отсутствующие ID пропускаются
+    List<Item> findItemsByIds(Collection<Long> itemIds);
+
     Collection<Item> getAllItems();
 
     Collection<Item> getItemsByOwnerId(Long ownerId);
 
+    // Поток вещей владельца по возрастанию ID; читать внутри транзакции и закрывать после обхода
+    Stream<Item> streamItemsByOwnerId(Long ownerId);
+
+    List<ItemSearchView> searchItems(String text, int from, int size);
+
+    // Поиск доступных вещей без подтвержденных бронирований на интервале [start, end]
+    List<ItemSearchView> searchItemsFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                                int from, int size);
+
     void deleteItemById(Long itemId);
 
     void deleteAllItems();
@@ -6,8 +6,10 @@ import ru.practicum.shareit.server.model.request.Request;
 import ru.practicum.shareit.server.repository.request.RequestRepository;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 @Profile("!in-memory")
@@ -70,4 +72,12 @@ public class DatabaseRequestStorage implements RequestStorage {
     public boolean existsById(Long requestId) {
         return requestRepository.existsById(requestId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(requestRepository.findExistingIds(requestIds));
+    }
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.server.model.request.Request;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface RequestStorage {
     Request addRequest(Request request);
@@ -21,4 +22,7 @@ public interface RequestStorage {
     void deleteAllRequests();
 
     boolean existsById(Long requestId);
+
+    // Какие из запросов существуют: одна выборка на весь набор
+    Set<Long> findExistingIds(Collection<Long> requestIds);
 }
\ No newline at end of file
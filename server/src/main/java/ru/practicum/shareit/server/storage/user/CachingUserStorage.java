@@ -0,0 +1,110 @@
+package ru.practicum.shareit.server.storage.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.server.datasource.PrimaryReader;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.storage.StorageCaches;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Кеширующая обертка над DatabaseUserStorage для чтения пользователя по ID и проверки существования.
+// Изменения (findUserById) всегда получают управляемую сущность из базы. Связям новых сущностей нужен только ID:
+// существование проверяется по кешу, ссылка берется через EntityManager.getReference без запроса к базе
+@Repository
+@Primary
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "true")
+public class CachingUserStorage implements UserStorage {
+
+    private final DatabaseUserStorage delegate;
+    private final Cache<Long, User> cache;
+    private final PrimaryReader primaryReader;
+    private final EntityManager entityManager;
+
+    public CachingUserStorage(DatabaseUserStorage delegate,
+                              PrimaryReader primaryReader,
+                              EntityManager entityManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${shareit.cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.primaryReader = primaryReader;
+        this.entityManager = entityManager;
+        this.cache = StorageCaches.create("users", maximumSize, ttl, meterRegistry);
+    }
+
+    @Override
+    public User addUser(User user) {
+        return delegate.addUser(user);
+    }
+
+    @Override
+    public User updateUser(Long id, User updateUser) {
+        StorageCaches.evict(cache, id);
+        return delegate.updateUser(id, updateUser);
+    }
+
+    @Override
+    public Collection<User> getAllUsers(Long afterId, int limit) {
+        return delegate.getAllUsers(afterId, limit);
+    }
+
+    @Override
+    public void streamAllUsers(Long afterId, Consumer<User> action) {
+        delegate.streamAllUsers(afterId, action);
+    }
+
+    @Override
+    public Optional<User> findUserById(Long id) {
+        return delegate.findUserById(id);
+    }
+
+    @Override
+    public Optional<User> findUserSnapshotById(Long id) {
+        // Отсутствующие пользователи не кешируются
+        User user = cache.get(id, this::load);
+        // Сущности изменяемы, поэтому наружу отдается копия
+        return Optional.ofNullable(user).map(cached -> cached.toBuilder().build());
+    }
+
+    @Override
+    public Optional<User> findUserReferenceById(Long id) {
+        return existsById(id) ? Optional.of(entityManager.getReference(User.class, id)) : Optional.empty();
+    }
+
+    @Override
+    public void deleteUserById(Long id) {
+        StorageCaches.evict(cache, id);
+        delegate.deleteUserById(id);
+    }
+
+    @Override
+    public void deleteAllUsers() {
+        StorageCaches.evictAll(cache);
+        delegate.deleteAllUsers();
+    }
+
+    @Override
+    public boolean existsById(Long userId) {
+        // Проверка существования заполняет тот же кеш, что и findUserSnapshotById
+        return cache.get(userId, this::load) != null;
+    }
+
+    // В кеш кладется копия, а не сущность, привязанная к текущей сессии Hibernate.
+    // Запись читается с основной базы: значение с отстающей реплики осталось бы в кеше на весь TTL
+    private User load(Long id) {
+        return primaryReader.read(() -> delegate.findUserById(id)
+                .map(found -> found.toBuilder().build())
+                .orElse(null));
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.server.storage.user;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.server.exception.ConflictException;
 import ru.practicum.shareit.server.model.user.User;
@@ -11,21 +13,30 @@ import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
 @Profile("!in-memory")
 public class DatabaseUserStorage implements UserStorage {
 
+    // Строк за один сетевой обмен при потоковом чтении
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String STREAM_USERS_SQL = "SELECT id, name, email FROM users WHERE id > ? ORDER BY id";
+
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public DatabaseUserStorage(UserRepository userRepository) {
+    public DatabaseUserStorage(UserRepository userRepository, JdbcTemplate jdbcTemplate) {
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
     public User addUser(User user) {
         try {
-            return userRepository.save(user);
+            // Вставка откладывается до сброса контекста, а нарушение уникальности email нужно поймать здесь
+            return userRepository.saveAndFlush(user);
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException("Пользователь с таким email уже существует");
         }
@@ -53,8 +64,27 @@ public class DatabaseUserStorage implements UserStorage {
     }
 
     @Override
-    public Collection<User> getAllUsers() {
-        return userRepository.findAll();
+    public Collection<User> getAllUsers(Long afterId, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId,
+                PageRequest.of(0, limit));
+    }
+
+    // Читает курсором JDBC в обход контекста персистентности: в памяти только текущая порция строк.
+    // PostgreSQL учитывает fetchSize только внутри транзакции, поэтому вызывать из транзакционного метода
+    @Override
+    public void streamAllUsers(Long afterId, Consumer<User> action) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(STREAM_USERS_SQL);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setLong(1, afterId == null ? 0L : afterId);
+            return statement;
+        }, resultSet -> {
+            action.accept(User.builder()
+                    .id(resultSet.getLong("id"))
+                    .name(resultSet.getString("name"))
+                    .email(resultSet.getString("email"))
+                    .build());
+        });
     }
 
     @Override
@@ -62,6 +92,16 @@ public class DatabaseUserStorage implements UserStorage {
         return userRepository.findById(id);
     }
 
+    @Override
+    public Optional<User> findUserSnapshotById(Long id) {
+        return userRepository.findById(id);
+    }
+
+    @Override
+    public Optional<User> findUserReferenceById(Long id) {
+        return userRepository.existsById(id) ? Optional.of(userRepository.getReferenceById(id)) : Optional.empty();
+    }
+
     @Override
     public void deleteUserById(Long id) {
         userRepository.deleteById(id);
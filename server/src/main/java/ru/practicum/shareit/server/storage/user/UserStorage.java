@@ -4,16 +4,28 @@ import ru.practicum.shareit.server.model.user.User;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserStorage {
     User addUser(User user);
 
     User updateUser(Long id, User updateUser);
 
-    Collection<User> getAllUsers();
+    // Не больше limit пользователей с ID больше afterId, по возрастанию ID
+    Collection<User> getAllUsers(Long afterId, int limit);
 
+    // Все пользователи с ID больше afterId по одному, без загрузки выборки в память
+    void streamAllUsers(Long afterId, Consumer<User> action);
+
+    // Управляемая сущность из базы: для изменений и связей новых сущностей
     Optional<User> findUserById(Long id);
 
+    // Пользователь только для чтения: может быть копией из кеша
+    Optional<User> findUserSnapshotById(Long id);
+
+    // Ссылка на существующего пользователя без загрузки полей: для связей новых сущностей
+    Optional<User> findUserReferenceById(Long id);
+
     void deleteUserById(Long id);
 
     void deleteAllUsers();
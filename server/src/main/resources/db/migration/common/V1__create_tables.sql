@@ -1,10 +1,3 @@
--- Удаление таблиц (если они существуют)
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS booking CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-
 -- Таблица пользователей
 CREATE TABLE IF NOT EXISTS users
 (
@@ -54,4 +47,4 @@ CREATE TABLE IF NOT EXISTS comments
     item_id   BIGINT                      NOT NULL REFERENCES items (id),
     author_id BIGINT                      NOT NULL REFERENCES users (id),
     created   TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);
@@ -0,0 +1,22 @@
+-- Индексы, одинаковые для PostgreSQL и H2
+
+-- Вещи владельца: ItemRepository.findByOwnerId, бронирования владельца (join по items.owner_id)
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id);
+
+-- Комментарии вещи: CommentRepository.findByItemId
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
+
+-- Бронирования арендатора: BookingRepository.findByBookerId* (ORDER BY start_date DESC)
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC);
+
+-- Бронирования арендатора в статусе WAITING/REJECTED: findByBookerIdAndStatus
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (booker_id, status, start_date DESC);
+
+-- Бронирования вещей владельца: findByItem_Owner_Id* (ORDER BY start_date DESC)
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date DESC);
+
+-- Запросы пользователя: RequestRepository.findByRequesterIdOrderByCreatedDesc
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (requestor_id, created DESC);
+
+-- Лента чужих запросов с keyset-пагинацией: findAllExcludingRequester* (ORDER BY created DESC, id DESC)
+CREATE INDEX IF NOT EXISTS requests_created_id_idx ON requests (created DESC, id DESC);
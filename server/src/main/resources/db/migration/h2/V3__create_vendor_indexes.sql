@@ -0,0 +1,8 @@
+-- Аналоги индексов PostgreSQL из postgresql/V3: H2 не поддерживает частичные индексы и INCLUDE,
+-- поэтому статус входит в ключ индекса
+
+CREATE INDEX IF NOT EXISTS bookings_approved_item_end_idx ON bookings (item_id, status, end_date DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_approved_item_start_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
@@ -0,0 +1,26 @@
+-- Частичные и покрывающие индексы, а также индексы поиска (только PostgreSQL)
+
+-- Последнее завершенное подтвержденное бронирование вещи: BookingRepository.findBookingTimeline (LAST),
+-- existsByUserAndItemAndApprovedStatus*; INCLUDE позволяет обойтись index-only scan
+CREATE INDEX IF NOT EXISTS bookings_approved_item_end_idx
+    ON bookings (item_id, end_date DESC) INCLUDE (id, start_date, booker_id)
+    WHERE status = 'APPROVED';
+
+-- Ближайшее подтвержденное бронирование и проверка пересечения: findBookingTimeline (NEXT),
+-- existsByItemIdAndDateOverlap
+CREATE INDEX IF NOT EXISTS bookings_approved_item_start_idx
+    ON bookings (item_id, start_date) INCLUDE (id, end_date, booker_id)
+    WHERE status = 'APPROVED';
+
+-- Вещи, созданные в ответ на запросы: ItemRepository.findByRequestId / findByRequestIdIn
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id) WHERE request_id IS NOT NULL;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Полнотекстовый поиск вещей: выражение должно совпадать с запросом ItemRepository.searchFullText
+CREATE INDEX IF NOT EXISTS items_search_tsv_idx
+    ON items USING GIN (to_tsvector('russian', name || ' ' || description));
+
+-- Поиск по подстроке (ILIKE) через триграммы
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING GIN (description gin_trgm_ops);
@@ -0,0 +1,8 @@
+-- Подтвержденные бронирования одной вещи не могут пересекаться по времени.
+-- Границы включены, как в BookingRepository.existsByItemIdAndDateOverlap
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_approved_no_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[]') WITH &&)
+        WHERE (status = 'APPROVED');
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
@@ -22,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import(NdjsonWriter.class)
 public class BookingControllerTest {
 
     @Autowired
@@ -139,7 +141,7 @@ public class BookingControllerTest {
 
         List<BookingDto> expectedBookings = List.of(booking1, booking2);
 
-        when(bookingService.getAllBookings(eq(state), eq(requesterId))).thenReturn(expectedBookings);
+        when(bookingService.getAllBookings(eq(state), eq(requesterId), eq(0), eq(10))).thenReturn(expectedBookings);
 
         mockMvc.perform(get("/bookings")
                         .param("state", state.name())
@@ -150,7 +152,7 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(booking1.getId()))
                 .andExpect(jsonPath("$[1].id").value(booking2.getId()));
 
-        verify(bookingService, times(1)).getAllBookings(eq(state), eq(requesterId));
+        verify(bookingService, times(1)).getAllBookings(eq(state), eq(requesterId), eq(0), eq(10));
     }
 
     // Тест для getAllBookingsByUser
@@ -174,7 +176,7 @@ public class BookingControllerTest {
 
         List<BookingShortDto> expectedBookings = List.of(booking1, booking2);
 
-        when(bookingService.getAllBookingsByUser(eq(userId), eq(state), eq(requesterId))).thenReturn(expectedBookings);
+        when(bookingService.getAllBookingsByUser(eq(userId), eq(state), eq(requesterId), eq(0), eq(10))).thenReturn(expectedBookings);
 
         mockMvc.perform(get("/bookings/users/{userId}/bookings", userId)
                         .param("state", state.name())
@@ -185,7 +187,7 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(booking1.getId()))
                 .andExpect(jsonPath("$[1].id").value(booking2.getId()));
 
-        verify(bookingService, times(1)).getAllBookingsByUser(eq(userId), eq(state), eq(requesterId));
+        verify(bookingService, times(1)).getAllBookingsByUser(eq(userId), eq(state), eq(requesterId), eq(0), eq(10));
     }
 
     // Тест для getAllBookingsForOwnerItems
@@ -208,7 +210,7 @@ public class BookingControllerTest {
 
         List<BookingShortDto> expectedBookings = List.of(booking1, booking2);
 
-        when(bookingService.getAllBookingsForOwnerItems(eq(ownerId), eq(state))).thenReturn(expectedBookings);
+        when(bookingService.getAllBookingsForOwnerItems(eq(ownerId), eq(state), eq(0), eq(10))).thenReturn(expectedBookings);
 
         mockMvc.perform(get("/bookings/bookings/owner")
                         .param("state", state.name())
@@ -219,6 +221,6 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(booking1.getId()))
                 .andExpect(jsonPath("$[1].id").value(booking2.getId()));
 
-        verify(bookingService, times(1)).getAllBookingsForOwnerItems(eq(ownerId), eq(state));
+        verify(bookingService, times(1)).getAllBookingsForOwnerItems(eq(ownerId), eq(state), eq(0), eq(10));
     }
 }
\ No newline at end of file
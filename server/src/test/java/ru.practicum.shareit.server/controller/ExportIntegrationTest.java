@@ -0,0 +1,167 @@
+package ru.practicum.shareit.server.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Comment;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.CommentRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Потоковые выгрузки отдают NDJSON только по данным владельца, по одной записи на строку
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class ExportIntegrationTest {
+
+    private static final int BOOKINGS_PER_ITEM = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private final List<Item> ownerItems = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@example.com").build());
+        User otherOwner = userRepository.save(User.builder().name("Other").email("other@example.com").build());
+
+        ownerItems.clear();
+        ownerItems.add(saveItem("Drill", owner));
+        ownerItems.add(saveItem("Saw", owner));
+        Item foreignItem = saveItem("Ladder", otherOwner);
+
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(10);
+        for (Item item : List.of(ownerItems.get(0), ownerItems.get(1), foreignItem)) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                bookingRepository.save(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .startDate(base.plusDays(i))
+                        .endDate(base.plusDays(i).plusHours(2))
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+            commentRepository.save(Comment.builder()
+                    .item(item)
+                    .author(booker)
+                    .text("Отличная вещь: " + item.getName())
+                    .created(base.plusDays(BOOKINGS_PER_ITEM))
+                    .build());
+        }
+    }
+
+    @Test
+    void exportBookings_ShouldStreamAllOwnerBookingsFromLatest() throws Exception {
+        List<JsonNode> lines = export("/bookings/owner/export", owner.getId());
+
+        assertThat(lines).hasSize(2 * BOOKINGS_PER_ITEM);
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("bookerId").asLong()).isEqualTo(booker.getId()));
+        List<LocalDateTime> starts = lines.stream()
+                .map(line -> LocalDateTime.parse(line.get("start").asText()))
+                .toList();
+        assertThat(starts).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void exportItems_ShouldStreamOnlyOwnerItems() throws Exception {
+        List<JsonNode> lines = export("/items/export", owner.getId());
+
+        assertThat(lines).extracting(line -> line.get("id").asLong())
+                .containsExactly(ownerItems.get(0).getId(), ownerItems.get(1).getId());
+        assertThat(lines.get(0).get("name").asText()).isEqualTo("Drill");
+    }
+
+    @Test
+    void exportComments_ShouldStreamCommentsWithItemAndAuthor() throws Exception {
+        List<JsonNode> lines = export("/items/comments/export", owner.getId());
+
+        assertThat(lines).extracting(line -> line.get("itemId").asLong())
+                .containsExactly(ownerItems.get(0).getId(), ownerItems.get(1).getId());
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("authorName").asText()).isEqualTo("Booker"));
+    }
+
+    // Пользователь проверяется до первой записи в поток, поэтому клиент получает обычную ошибку
+    @Test
+    void exportForUnknownUser_ShouldReturnNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 999L)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    private Item saveItem(String name, User itemOwner) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(name + " для выгрузки")
+                .available(true)
+                .owner(itemOwner)
+                .build());
+    }
+
+    private List<JsonNode> export(String path, Long userId) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -5,14 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
+import ru.practicum.shareit.server.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.server.dto.item.CommentDto;
 import ru.practicum.shareit.server.dto.item.ItemDto;
+import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.service.item.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -20,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
+@Import(NdjsonWriter.class)
 public class ItemControllerTest {
 
     @Autowired
@@ -62,6 +70,34 @@ public class ItemControllerTest {
         verify(itemService, times(1)).addItem(eq(userId), eq(itemDto));
     }
 
+    // Пакет возвращается одним ответом 200 со статусом каждого элемента
+    @Test
+    void testAddItems() throws Exception {
+        Long userId = 1L;
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().name("Drill").description("Power drill").available(true).build(),
+                ItemDto.builder().name("Saw").description("Hand saw").available(true).requestId(9L).build());
+        ItemDto created = itemDtos.get(0).toBuilder().id(1L).build();
+
+        when(itemService.addItems(eq(userId), eq(itemDtos))).thenReturn(List.of(
+                BatchResultDto.created(0, created),
+                BatchResultDto.failed(1, HttpStatus.NOT_FOUND, "Запрос с ID=9 не найден")));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].result.id").value(1))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].error").value("Запрос с ID=9 не найден"));
+
+        verify(itemService, times(1)).addItems(eq(userId), eq(itemDtos));
+    }
+
     // Тест для addComment
     @Test
     void testAddComment() throws Exception {
@@ -260,7 +296,7 @@ public class ItemControllerTest {
 
         Collection<ItemDto> expectedItems = Arrays.asList(item1, item2);
 
-        when(itemService.searchItems(eq(text))).thenReturn(expectedItems);
+        when(itemService.searchItems(eq(text), isNull(), isNull(), eq(0), eq(10))).thenReturn(expectedItems);
 
         mockMvc.perform(get("/items/search")
                         .param("text", text))
@@ -272,6 +308,36 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[1].id").value(item2.getId()))
                 .andExpect(jsonPath("$[1].name").value(item2.getName()));
 
-        verify(itemService, times(1)).searchItems(eq(text));
+        verify(itemService, times(1)).searchItems(eq(text), isNull(), isNull(), eq(0), eq(10));
+    }
+
+    @Test
+    void testSearchItems_ShouldReturnBadRequest_WhenSizeIsZero() throws Exception {
+        when(itemService.searchItems(eq("drill"), isNull(), isNull(), eq(0), eq(0)))
+                .thenThrow(new BadRequestException("size должен быть больше нуля"));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 10, 0);
+        List<AvailabilityWindowDto> windows = List.of(
+                new AvailabilityWindowDto(from, LocalDateTime.of(2030, 1, 2, 10, 0)),
+                new AvailabilityWindowDto(LocalDateTime.of(2030, 1, 3, 10, 0), to));
+
+        when(itemService.getItemAvailability(1L, from, to)).thenReturn(windows);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-05T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T10:00:00"))
+                .andExpect(jsonPath("$[1].end").value("2030-01-05T10:00:00"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.server.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Таймеры эндпоинтов и методов репозиториев публикуются с перцентилями из application.properties
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void endpointAndRepositoryCalls_ShouldBeTimedWithPercentiles() throws Exception {
+        String response = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"User\",\"email\":\"metrics@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long userId = Long.parseLong(response.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        mockMvc.perform(get("/users/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("metrics@example.com"));
+
+        // Тег uri - шаблон пути, а не конкретный ID
+        Timer endpoint = meterRegistry.get("http.server.requests")
+                .tag("uri", "/users/{id}")
+                .tag("method", "GET")
+                .timer();
+        assertThat(endpoint.count()).isPositive();
+        assertThat(endpoint.takeSnapshot().percentileValues()).hasSize(3);
+
+        Timer repository = meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "UserRepository")
+                .tag("method", "saveAndFlush")
+                .timer();
+        assertThat(repository.count()).isPositive();
+        assertThat(repository.takeSnapshot().percentileValues()).hasSize(3);
+    }
+}
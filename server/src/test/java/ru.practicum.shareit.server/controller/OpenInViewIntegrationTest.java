@@ -0,0 +1,108 @@
+package ru.practicum.shareit.server.controller;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.request.Request;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.request.RequestRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// open-session-in-view выключен: ленивые связи вне транзакции не загружаются,
+// а ответы, которым нужны связанные сущности, полностью собираются в транзакции сервиса
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class OpenInViewIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Item item;
+    private Request request;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@example.com").build());
+        request = requestRepository.save(Request.builder().description("Нужна дрель").requester(booker).build());
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Ударная дрель")
+                .available(true)
+                .owner(owner)
+                .requestId(request.getId())
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .startDate(LocalDateTime.now().plusDays(1))
+                .endDate(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+
+    @Test
+    void openInView_ShouldBeDisabled() {
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void lazyAssociationOutsideTransaction_ShouldFailFast() {
+        Item loaded = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertThrows(LazyInitializationException.class, () -> loaded.getOwner().getName());
+    }
+
+    @Test
+    void getBooking_ShouldAssembleItemInsideServiceTransaction() throws Exception {
+        mockMvc.perform(get("/bookings/{bookingId}", booking.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.id").value(item.getId()))
+                .andExpect(jsonPath("$.item.name").value("Drill"));
+    }
+
+    @Test
+    void getRequest_ShouldAssembleItemsInsideServiceTransaction() throws Exception {
+        mockMvc.perform(get("/requests/{requestId}", request.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Drill"))
+                .andExpect(jsonPath("$.items[0].requestId").value(request.getId()));
+    }
+}
@@ -104,7 +104,7 @@ public class RequestControllerTest {
 
         List<RequestDto> expectedRequests = Arrays.asList(request1, request2);
 
-        when(requestService.getAllRequestsExcludingUser(eq(userId))).thenReturn(expectedRequests);
+        when(requestService.getAllRequestsExcludingUser(eq(userId), isNull(), isNull(), eq(10))).thenReturn(expectedRequests);
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", userId))
@@ -116,7 +116,7 @@ public class RequestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(request2.getId()))
                 .andExpect(jsonPath("$[1].description").value(request2.getDescription()));
 
-        verify(requestService, times(1)).getAllRequestsExcludingUser(eq(userId));
+        verify(requestService, times(1)).getAllRequestsExcludingUser(eq(userId), isNull(), isNull(), eq(10));
     }
 
     // Тест для getRequestById
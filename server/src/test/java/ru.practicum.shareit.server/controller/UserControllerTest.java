@@ -5,13 +5,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.server.dto.user.UserDto;
 import ru.practicum.shareit.server.service.user.UserService;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +25,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import(NdjsonWriter.class)
 public class UserControllerTest {
 
     @Autowired
@@ -135,7 +142,7 @@ public class UserControllerTest {
 
         Collection<UserDto> expectedUsers = Arrays.asList(user1, user2);
 
-        when(userService.getAllUsers()).thenReturn(expectedUsers);
+        when(userService.getAllUsers(null, 100)).thenReturn(expectedUsers);
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -148,7 +155,55 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[1].name").value(user2.getName()))
                 .andExpect(jsonPath("$[1].email").value(user2.getEmail()));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getAllUsers(null, 100);
+    }
+
+    @Test
+    void testGetAllUsers_WithCursorAndLimit() throws Exception {
+        UserDto user = UserDto.builder()
+                .id(6L)
+                .name("User 6")
+                .email("user6@example.com")
+                .build();
+
+        when(userService.getAllUsers(5L, 1)).thenReturn(List.of(user));
+
+        mockMvc.perform(get("/users")
+                        .param("afterId", "5")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(6));
+
+        verify(userService, times(1)).getAllUsers(5L, 1);
+        verify(userService, never()).streamAllUsers(any(), any());
+    }
+
+    // NDJSON отдается только по явному Accept, по одному пользователю на строку
+    @Test
+    void testStreamAllUsers() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserDto> action = invocation.getArgument(1);
+            action.accept(UserDto.builder().id(1L).name("User 1").email("user1@example.com").build());
+            action.accept(UserDto.builder().id(2L).name("User 2").email("user2@example.com").build());
+            return null;
+        }).when(userService).streamAllUsers(isNull(), any());
+
+        MvcResult result = mockMvc.perform(get("/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("user2@example.com", objectMapper.readTree(lines[1]).get("email").asText());
+        verify(userService, never()).getAllUsers(any(), anyInt());
     }
 
     // Тест для deleteUserById
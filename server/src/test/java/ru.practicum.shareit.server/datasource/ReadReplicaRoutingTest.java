@@ -0,0 +1,118 @@
+package ru.practicum.shareit.server.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.dto.user.UserDto;
+import ru.practicum.shareit.server.monitoring.PoolEndpoint;
+import ru.practicum.shareit.server.monitoring.PoolSizingMonitor;
+import ru.practicum.shareit.server.service.user.UserService;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Две базы H2 без репликации: данные, записанные только в реплику, видны лишь при чтении с нее.
+// Отставание реплики задается строкой в таблице replica_status, проверка запускается из теста
+@SpringBootTest(properties = {
+        "shareit.datasource.replicas.enabled=true",
+        "shareit.datasource.replicas.nodes[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "shareit.datasource.replicas.lag-query=SELECT lag_seconds FROM replica_status",
+        "shareit.datasource.replicas.max-lag=5s",
+        "shareit.datasource.replicas.check-interval=1h"})
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы основной базы перед каждым тестом
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_USER_ID = 1000L;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private PoolEndpoint poolEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds DOUBLE PRECISION)");
+        replica.update("DELETE FROM replica_status");
+        replica.update("INSERT INTO replica_status VALUES (0)");
+        replica.update("DELETE FROM users");
+        replica.update("INSERT INTO users (id, name, email) VALUES (?, 'Replica', 'replica@example.com')",
+                REPLICA_USER_ID);
+        replicaRouter.checkLag();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        UserDto user = userService.getUserById(REPLICA_USER_ID);
+
+        assertThat(user.getEmail()).isEqualTo("replica@example.com");
+        assertThat(replicaRouter.getReplicas().get(0).getLagSeconds()).isZero();
+    }
+
+    @Test
+    void writeTransaction_ShouldGoToPrimary() {
+        UserDto created = userService.addUser(UserDto.builder().name("Primary").email("primary@example.com").build());
+
+        Integer onReplica = replica.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class,
+                created.getEmail());
+        assertThat(onReplica).isZero();
+    }
+
+    @Test
+    void laggingReplica_ShouldFallBackToPrimary() {
+        replica.update("UPDATE replica_status SET lag_seconds = 60");
+        replicaRouter.checkLag();
+
+        assertThat(replicaRouter.getReplicas().get(0).isAvailable()).isFalse();
+        assertThrows(NoSuchElementException.class, () -> userService.getUserById(REPLICA_USER_ID));
+
+        replica.update("UPDATE replica_status SET lag_seconds = 1");
+        replicaRouter.checkLag();
+
+        assertThat(userService.getUserById(REPLICA_USER_ID).getName()).isEqualTo("Replica");
+    }
+
+    @Test
+    void failedLagCheck_ShouldFallBackToPrimary() {
+        replica.execute("DROP TABLE replica_status");
+        replicaRouter.checkLag();
+
+        assertThat(replicaRouter.getReplicas().get(0).getLagSeconds()).isNaN();
+        assertThrows(NoSuchElementException.class, () -> userService.getUserById(REPLICA_USER_ID));
+    }
+
+    // Пулы реплик не являются бинами, но попадают в метрики hikaricp.* и в отчет /actuator/pool
+    @Test
+    void replicaPool_ShouldBeMonitored() {
+        userService.getUserById(REPLICA_USER_ID);
+
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", "replica-1").timer().count())
+                .isPositive();
+        assertThat(poolEndpoint.pools()).extracting(PoolSizingMonitor.PoolReport::getPool)
+                .containsExactly("primary", "replica-1");
+    }
+}
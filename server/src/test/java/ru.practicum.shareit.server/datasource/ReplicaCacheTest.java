@@ -0,0 +1,91 @@
+package ru.practicum.shareit.server.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.dto.item.ItemDto;
+import ru.practicum.shareit.server.dto.user.UserDto;
+import ru.practicum.shareit.server.service.item.ItemService;
+import ru.practicum.shareit.server.service.user.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Реплики и кеш включены одновременно. Реплика хранит устаревшие версии строк основной базы
+// в пределах допустимого отставания: записи кеша должны читаться с основной базы, иначе
+// устаревшее значение жило бы в кеше весь TTL
+@SpringBootTest(properties = {
+        "shareit.cache.enabled=true",
+        "shareit.datasource.replicas.enabled=true",
+        "shareit.datasource.replicas.nodes[0].url=" + ReplicaCacheTest.REPLICA_URL,
+        "shareit.datasource.replicas.lag-query=SELECT lag_seconds FROM replica_status",
+        "shareit.datasource.replicas.max-lag=5s",
+        "shareit.datasource.replicas.check-interval=1h"})
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы основной базы перед каждым тестом
+class ReplicaCacheTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica-cache;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    private JdbcTemplate replica;
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds DOUBLE PRECISION)");
+        replica.update("DELETE FROM replica_status");
+        replica.update("INSERT INTO replica_status VALUES (1)");
+        replica.update("DELETE FROM items");
+        replica.update("DELETE FROM users");
+
+        owner = userService.addUser(UserDto.builder().name("Renamed").email("owner@example.com").build());
+        item = itemService.addItem(owner.getId(), ItemDto.builder()
+                .name("Hammer drill")
+                .description("Ударная дрель")
+                .available(true)
+                .build());
+        // Реплика еще не получила переименование
+        replica.update("INSERT INTO users (id, name, email) VALUES (?, 'Stale', 'owner@example.com')",
+                owner.getId());
+        replica.update("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (?, 'Drill', 'Ударная дрель', TRUE, ?)", item.getId(), owner.getId());
+        replicaRouter.checkLag();
+    }
+
+    @Test
+    void cachedUser_ShouldBeLoadedFromPrimary() {
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("Renamed");
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void cachedItem_ShouldBeLoadedFromPrimary() {
+        assertThat(itemService.getItemById(item.getId()).getName()).isEqualTo("Hammer drill");
+    }
+
+    @Test
+    void uncachedReadOnlyQueries_ShouldStillUseReplica() {
+        assertThat(replicaRouter.getReplicas().get(0).isAvailable()).isTrue();
+        assertThat(userService.getAllUsers(null, 10)).extracting(UserDto::getName).containsExactly("Stale");
+    }
+}
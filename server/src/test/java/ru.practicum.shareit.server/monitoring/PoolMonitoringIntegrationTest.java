@@ -0,0 +1,83 @@
+package ru.practicum.shareit.server.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Пул primary публикует метрики hikaricp.*, а отчет /actuator/pool учитывает одновременно занятые соединения.
+// Интервал замеров увеличен: в тесте замер запускается вручную
+@SpringBootTest(properties = "shareit.pool-report.sample-interval=1h")
+class PoolMonitoringIntegrationTest {
+
+    private static final int HELD = 4;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PoolSizingMonitor poolSizingMonitor;
+
+    @Autowired
+    private PoolEndpoint poolEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        poolEndpoint.reset();
+    }
+
+    @Test
+    void pool_ShouldExportAcquireAndUsageTimers() {
+        userRepository.count();
+
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer();
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").tag("pool", "primary").timer();
+        assertThat(acquire.count()).isPositive();
+        assertThat(usage.count()).isPositive();
+        assertThat(usage.takeSnapshot().percentileValues()).hasSize(3);
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", "primary").gauge()).isNotNull();
+    }
+
+    @Test
+    void report_ShouldRecommendSizeFromPeakDemand() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < HELD; i++) {
+                held.add(dataSource.getConnection());
+            }
+            poolSizingMonitor.sample();
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        poolSizingMonitor.sample();
+
+        List<PoolSizingMonitor.PoolReport> reports = poolEndpoint.pools();
+
+        assertThat(reports).hasSize(1);
+        PoolSizingMonitor.PoolReport report = reports.get(0);
+        assertThat(report.getPool()).isEqualTo("primary");
+        assertThat(report.getSamples()).isEqualTo(2);
+        assertThat(report.getPeakActive()).isGreaterThanOrEqualTo(HELD);
+        assertThat(report.getPeakPending()).isZero();
+        assertThat(report.getRecommendedMaximumPoolSize()).isEqualTo((int) Math.ceil(report.getPeakActive() * 1.25));
+        assertThat(report.getVerdict()).startsWith("Пул избыточен");
+    }
+}
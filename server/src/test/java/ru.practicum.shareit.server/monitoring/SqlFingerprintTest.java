@@ -0,0 +1,29 @@
+package ru.practicum.shareit.server.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void normalize_ShouldReplaceLiteralsAndCollapseWhitespace() {
+        assertThat(SqlFingerprint.normalize("select * from bookings b1_0\n   where b1_0.status = 'APPROVED'\n"
+                + "  and b1_0.item_id = 15 fetch first 10 rows only"))
+                .isEqualTo("select * from bookings b1_0 where b1_0.status = ? and b1_0.item_id = ? "
+                        + "fetch first ? rows only");
+    }
+
+    @Test
+    void normalize_ShouldCollapseInLists() {
+        assertThat(SqlFingerprint.normalize("select * from items where id in (?, ?, ?)"))
+                .isEqualTo(SqlFingerprint.normalize("select * from items where id in (?,?)"))
+                .isEqualTo("select * from items where id in (?...)");
+    }
+
+    @Test
+    void normalize_ShouldKeepEscapedQuotesInsideLiteral() {
+        assertThat(SqlFingerprint.normalize("select * from users where name = 'O''Brien'"))
+                .isEqualTo("select * from users where name = ?");
+    }
+}
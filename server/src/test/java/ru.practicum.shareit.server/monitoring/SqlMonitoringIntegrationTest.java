@@ -0,0 +1,97 @@
+package ru.practicum.shareit.server.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Пороги занижены, чтобы любой запрос считался медленным, а любой HTTP-запрос с SQL - подозрительным
+@SpringBootTest(properties = {
+        "shareit.sql.slow-query-threshold=0ms",
+        "shareit.sql.request-statement-threshold=0"})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class SqlMonitoringIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private QueriesEndpoint queriesEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        queriesEndpoint.reset();
+        owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        for (int i = 0; i < 3; i++) {
+            itemRepository.save(Item.builder()
+                    .name("Drill " + i)
+                    .description("Power drill")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+    }
+
+    @Test
+    void requestWithQueries_ShouldBeCountedLoggedAndAggregated(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(output).contains("GET /items выполнил").contains("Медленный SQL-запрос");
+        assertThat(meterRegistry.get("shareit.sql.statements")
+                .tag("uri", "/items")
+                .summary()
+                .totalAmount()).isPositive();
+
+        Map<String, Object> report = queriesEndpoint.queries(5);
+        @SuppressWarnings("unchecked")
+        List<QueryStatistics.QuerySummary> byCount = (List<QueryStatistics.QuerySummary>) report.get("byCount");
+        assertThat(byCount).isNotEmpty();
+        assertThat(byCount).allSatisfy(summary -> {
+            assertThat(summary.getCount()).isPositive();
+            assertThat(summary.getSql()).doesNotContainPattern("'[^']*'");
+        });
+        assertThat(byCount).anySatisfy(summary -> assertThat(summary.getSql()).containsIgnoringCase("from items"));
+        assertThat((List<?>) report.get("byTotalTime")).hasSameSizeAs(byCount);
+    }
+
+    @Test
+    void reset_ShouldClearStatistics() {
+        userRepository.findAll();
+
+        queriesEndpoint.reset();
+
+        assertThat((List<?>) queriesEndpoint.queries(null).get("byCount")).isEmpty();
+    }
+}
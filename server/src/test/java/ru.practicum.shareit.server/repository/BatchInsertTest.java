@@ -0,0 +1,91 @@
+package ru.practicum.shareit.server.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.monitoring.QueriesEndpoint;
+import ru.practicum.shareit.server.monitoring.QueryStatistics;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Идентификаторы из последовательностей позволяют Hibernate отправлять вставки пакетами JDBC:
+// 120 бронирований - три выполнения INSERT (batch_size=50) и три обращения к последовательности (шаг 50)
+@SpringBootTest
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class BatchInsertTest {
+
+    private static final int BOOKINGS = 120;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private QueriesEndpoint queriesEndpoint;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@example.com").build());
+        item = itemRepository.save(Item.builder().name("Drill").description("Дрель").available(true).owner(owner)
+                .build());
+        queriesEndpoint.reset();
+    }
+
+    @Test
+    void saveAll_ShouldInsertBookingsInJdbcBatches() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .startDate(base.plusHours(i * 3L))
+                    .endDate(base.plusHours(i * 3L + 2))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        List<Booking> saved = transactionTemplate.execute(status -> bookingRepository.saveAll(bookings));
+
+        assertThat(saved).extracting(Booking::getId).doesNotHaveDuplicates().isSorted();
+        assertThat(bookingRepository.count()).isEqualTo(BOOKINGS);
+        assertThat(executions("insert into bookings")).isEqualTo(3);
+        assertThat(executions("bookings_seq")).isEqualTo(3);
+    }
+
+    private long executions(String sqlPart) {
+        @SuppressWarnings("unchecked")
+        List<QueryStatistics.QuerySummary> byCount =
+                (List<QueryStatistics.QuerySummary>) queriesEndpoint.queries(100).get("byCount");
+        return byCount.stream()
+                .filter(summary -> summary.getSql().toLowerCase().contains(sqlPart))
+                .mapToLong(QueryStatistics.QuerySummary::getCount)
+                .sum();
+    }
+}
@@ -7,15 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.server.model.booking.Booking;
 import ru.practicum.shareit.server.model.booking.BookingStatus;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.booking.BookingTimelineView;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -85,44 +88,72 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void testFindByBookerId() {
-        List<Booking> bookings = bookingRepository.findByBookerId(booker.getId());
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings).contains(booking1, booking2);
+    void testFindByBookerId_Page_SortedByStartDesc() {
+        Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "startDate"));
+        List<Booking> bookings = bookingRepository.findByBookerId(booker.getId(), page);
+        assertThat(bookings).containsExactly(booking2);
     }
 
     @Test
-    void testFindByItemId() {
-        List<Booking> bookings = bookingRepository.findByItemId(item.getId());
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings).contains(booking1, booking2);
+    void testFindByBookerId_ByState() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10);
+        assertThat(bookingRepository.findByBookerIdAndEndDateBefore(booker.getId(), now, page))
+                .containsExactly(booking1);
+        assertThat(bookingRepository.findByBookerIdAndStartDateAfter(booker.getId(), now, page))
+                .containsExactly(booking2);
+        assertThat(bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(booker.getId(), now, now, page))
+                .isEmpty();
+        assertThat(bookingRepository.findByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING, page))
+                .isEmpty();
     }
 
     @Test
-    void testFindByItem_Owner_Id() {
-        List<Booking> bookings = bookingRepository.findByItem_Owner_Id(owner.getId());
-        assertThat(bookings).hasSize(2);
-        assertThat(bookings).contains(booking1, booking2);
+    void testFindByItem_Owner_Id_ByState() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10);
+        assertThat(bookingRepository.findByItem_Owner_Id(owner.getId(), page))
+                .containsExactlyInAnyOrder(booking1, booking2);
+        assertThat(bookingRepository.findByItem_Owner_IdAndEndDateBefore(owner.getId(), now, page))
+                .containsExactly(booking1);
+        assertThat(bookingRepository.findByItem_Owner_IdAndStartDateAfter(owner.getId(), now, page))
+                .containsExactly(booking2);
+        assertThat(bookingRepository.findByItem_Owner_IdAndStartDateBeforeAndEndDateAfter(owner.getId(), now, now, page))
+                .isEmpty();
+        assertThat(bookingRepository.findByItem_Owner_IdAndStatus(owner.getId(), BookingStatus.APPROVED, page))
+                .containsExactlyInAnyOrder(booking1, booking2);
     }
 
     @Test
-    void testFindLastBooking() {
-        Optional<Booking> lastBooking = bookingRepository.findLastBooking(
-                item.getId(),
+    void testFindBookingTimeline() {
+        // Более раннее завершенное бронирование не должно попасть в выборку
+        Booking olderBooking = new Booking();
+        olderBooking.setStartDate(LocalDateTime.now().minusDays(10));
+        olderBooking.setEndDate(LocalDateTime.now().minusDays(8));
+        olderBooking.setItem(item);
+        olderBooking.setBooker(booker);
+        olderBooking.setStatus(BookingStatus.APPROVED);
+        testEntityManager.persist(olderBooking);
+
+        List<BookingTimelineView> timeline = bookingRepository.findBookingTimeline(
+                List.of(item.getId()),
                 LocalDateTime.now()
         );
-        assertThat(lastBooking).isPresent();
-        assertThat(lastBooking.get()).isEqualTo(booking1);
-    }
 
-    @Test
-    void testFindNextBooking() {
-        Optional<Booking> nextBooking = bookingRepository.findNextBooking(
-                item.getId(),
-                LocalDateTime.now()
-        );
-        assertThat(nextBooking).isPresent();
-        assertThat(nextBooking.get()).isEqualTo(booking2);
+        assertThat(timeline).hasSize(2);
+        BookingTimelineView last = timeline.stream()
+                .filter(view -> BookingTimelineView.LAST.equals(view.getKind()))
+                .findFirst()
+                .orElseThrow();
+        BookingTimelineView next = timeline.stream()
+                .filter(view -> BookingTimelineView.NEXT.equals(view.getKind()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(last.getId()).isEqualTo(booking1.getId());
+        assertThat(last.getItemId()).isEqualTo(item.getId());
+        assertThat(last.getBookerId()).isEqualTo(booker.getId());
+        assertThat(next.getId()).isEqualTo(booking2.getId());
+        assertThat(next.getStart()).isNotNull();
     }
 
     @Test
@@ -7,10 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.request.Request;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -67,17 +71,50 @@ class ItemRepositoryTest {
     void tearDown() {
         // Очищаем таблицы в обратном порядке (сначала зависимые таблицы)
         EntityManager em = entityManager.getEntityManager();
+        em.createQuery("DELETE FROM Booking").executeUpdate();
         em.createQuery("DELETE FROM Item").executeUpdate();
         em.createQuery("DELETE FROM Request").executeUpdate();
         em.createQuery("DELETE FROM User").executeUpdate();
     }
 
     @Test
-    void testSearch() {
-        String text = "bike";
-        List<Item> items = itemRepository.search(text);
+    void testSearchAvailable() {
+        List<ItemSearchView> items = itemRepository.searchAvailable("BIKE", PageRequest.of(0, 10));
         assertThat(items).hasSize(1);
-        assertThat(items).contains(item1);
+        assertThat(items.get(0).getId()).isEqualTo(item1.getId());
+        assertThat(items.get(0).getName()).isEqualTo("Bike");
+        assertThat(items.get(0).getRequestId()).isEqualTo(request.getId());
+    }
+
+    @Test
+    void testSearchAvailable_ShouldRespectPage() {
+        List<ItemSearchView> items = itemRepository.searchAvailable("bike", PageRequest.of(1, 10));
+        assertThat(items).isEmpty();
+    }
+
+    @Test
+    void testSearchAvailableFreeBetween_ShouldSkipItemsWithApprovedOverlap() {
+        Item roadBike = Item.builder()
+                .name("Road bike")
+                .description("Road bike for rent")
+                .available(true)
+                .owner(owner)
+                .build();
+        entityManager.persist(roadBike);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        persistBooking(item1, start, start.plusDays(2), BookingStatus.APPROVED);
+        persistBooking(roadBike, start, start.plusDays(2), BookingStatus.WAITING);
+
+        // Подтвержденное бронирование исключает вещь, ожидающее - нет
+        List<ItemSearchView> busy = itemRepository.searchAvailableFreeBetween("bike",
+                start.plusDays(1), start.plusDays(1).plusHours(1), PageRequest.of(0, 10));
+        assertThat(busy).extracting(ItemSearchView::getId).containsExactly(roadBike.getId());
+
+        // Интервал после бронирования свободен для обеих вещей
+        List<ItemSearchView> free = itemRepository.searchAvailableFreeBetween("bike",
+                start.plusDays(3), start.plusDays(4), PageRequest.of(0, 10));
+        assertThat(free).extracting(ItemSearchView::getId).containsExactly(item1.getId(), roadBike.getId());
     }
 
     @Test
@@ -93,4 +130,20 @@ class ItemRepositoryTest {
         assertThat(items).hasSize(1);
         assertThat(items).contains(item1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindByRequestIdIn() {
+        List<Item> items = itemRepository.findByRequestIdIn(List.of(request.getId(), -1L));
+        assertThat(items).containsExactly(item1);
+    }
+
+    private void persistBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(owner);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        entityManager.persist(booking);
+    }
+}
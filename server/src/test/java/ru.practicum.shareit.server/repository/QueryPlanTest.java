@@ -0,0 +1,106 @@
+package ru.practicum.shareit.server.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Проверяет по EXPLAIN (H2), что горячие запросы идут по индексам из миграций, а не полным сканированием.
+// Внешние ключи H2 индексирует сам, поэтому для них проверяется только отсутствие tableScan.
+// H2 не использует порядок индекса для ORDER BY после условия равенства по первой колонке: для него составной
+// индекс (booker_id, start_date DESC) равноценен индексу внешнего ключа, и проверяется только поиск по booker_id.
+// Без сортировки такие индексы читает PostgreSQL. План строится по статистике таблиц с данными
+@DataJpaTest
+@Sql(scripts = "/query-plan-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/clean.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+class QueryPlanTest {
+
+    private static final String NOW = "TIMESTAMP '2024-01-01 12:00:00'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingsByBooker_ShouldUseBookerIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC"))
+                .containsPattern("_(INDEX_\\w+|IDX): BOOKER_ID = ")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void bookingsByBookerAndStatus_ShouldUseBookerStatusIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE booker_id = 1 AND status = 'WAITING' "
+                + "ORDER BY start_date DESC"))
+                .contains("BOOKINGS_BOOKER_STATUS_START_IDX")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void bookingsByOwner_ShouldUseIndexes() {
+        String plan = explain("SELECT b.* FROM bookings b JOIN items i ON b.item_id = i.id "
+                + "WHERE i.owner_id = 1 ORDER BY b.start_date DESC");
+
+        assertThat(plan)
+                .containsPattern("_(INDEX_\\w+|IDX): OWNER_ID = ")
+                .containsPattern("_(INDEX_\\w+|IDX): ITEM_ID = ")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void lastApprovedBookings_ShouldUseApprovedItemEndIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id IN (1, 2) AND status = 'APPROVED' "
+                + "AND end_date < " + NOW + " ORDER BY end_date DESC"))
+                .contains("BOOKINGS_APPROVED_ITEM_END_IDX")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void nextApprovedBookings_ShouldUseIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id IN (1, 2) AND status = 'APPROVED' "
+                + "AND start_date > " + NOW + " ORDER BY start_date"))
+                .containsPattern("BOOKINGS_(APPROVED_)?ITEM_START_IDX")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void overlappingBookings_ShouldUseIndex() {
+        assertThat(explain("SELECT COUNT(*) FROM bookings WHERE item_id = 1 AND status = 'APPROVED' "
+                + "AND start_date < " + NOW + " AND end_date > " + NOW))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void commentCheck_ShouldUseIndex() {
+        assertThat(explain("SELECT COUNT(*) FROM bookings WHERE item_id = 1 AND booker_id = 2 "
+                + "AND status = 'APPROVED' AND end_date < " + NOW))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void itemsByOwner_ShouldUseIndex() {
+        assertThat(explain("SELECT * FROM items WHERE owner_id = 1")).doesNotContain("tableScan");
+    }
+
+    @Test
+    void itemsByRequests_ShouldUseIndex() {
+        assertThat(explain("SELECT * FROM items WHERE request_id IN (1, 2, 3)")).doesNotContain("tableScan");
+    }
+
+    @Test
+    void commentsByItem_ShouldUseIndex() {
+        assertThat(explain("SELECT * FROM comments WHERE item_id = 1")).doesNotContain("tableScan");
+    }
+
+    @Test
+    void requestsByRequester_ShouldUseIndex() {
+        assertThat(explain("SELECT * FROM requests WHERE requestor_id = 1 ORDER BY created DESC"))
+                .doesNotContain("tableScan");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
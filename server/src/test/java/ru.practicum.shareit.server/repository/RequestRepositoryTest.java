@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.server.model.request.Request;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.repository.request.RequestRepository;
@@ -75,11 +76,33 @@ class RequestRepositoryTest {
 
     @Test
     void testFindAllExcludingRequester() {
-        List<Request> requests = requestRepository.findAllExcludingRequester(user1.getId());
+        List<Request> requests = requestRepository.findAllExcludingRequester(user1.getId(), PageRequest.of(0, 10));
         assertThat(requests).hasSize(1);
         assertThat(requests.get(0)).isEqualTo(request2);
     }
 
+    @Test
+    void testFindAllExcludingRequester_KeysetPagination() {
+        Request request3 = new Request();
+        request3.setDescription("Request 3");
+        request3.setCreated(LocalDateTime.now());
+        request3.setRequester(user2);
+        entityManager.persist(request3);
+
+        PageRequest page = PageRequest.of(0, 1);
+
+        List<Request> first = requestRepository.findAllExcludingRequester(user1.getId(), page);
+        assertThat(first).containsExactly(request3);
+
+        List<Request> second = requestRepository.findAllExcludingRequesterBefore(
+                user1.getId(), request3.getCreated(), request3.getId(), page);
+        assertThat(second).containsExactly(request2);
+
+        List<Request> third = requestRepository.findAllExcludingRequesterBefore(
+                user1.getId(), request2.getCreated(), request2.getId(), page);
+        assertThat(third).isEmpty();
+    }
+
     @Test
     void testFindById() {
         Optional<Request> foundRequest = requestRepository.findById(request1.getId());
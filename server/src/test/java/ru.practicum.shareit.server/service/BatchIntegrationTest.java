@@ -0,0 +1,140 @@
+package ru.practicum.shareit.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.dto.batch.BatchResultDto;
+import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
+import ru.practicum.shareit.server.dto.booking.BookingDto;
+import ru.practicum.shareit.server.dto.item.ItemDto;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.request.Request;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.request.RequestRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+import ru.practicum.shareit.server.service.booking.BookingService;
+import ru.practicum.shareit.server.service.item.ItemService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Пакетное создание: ошибки отдельных элементов не мешают сохранить остальные, порядок результатов - как во входе
+@SpringBootTest
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class BatchIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@example.com").build());
+    }
+
+    @Test
+    void addItems_ShouldSaveValidItemsAndReportMissingRequests() {
+        Request request = requestRepository.save(Request.builder()
+                .description("Нужна дрель")
+                .requester(booker)
+                .created(LocalDateTime.now())
+                .build());
+        List<ItemDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            dtos.add(ItemDto.builder().name("Item " + i).description("Описание " + i).available(true).build());
+        }
+        dtos.set(10, dtos.get(10).toBuilder().requestId(request.getId()).build());
+        dtos.set(20, dtos.get(20).toBuilder().requestId(999L).build());
+
+        List<BatchResultDto<ItemDto>> results = itemService.addItems(owner.getId(), dtos);
+
+        assertThat(results).hasSize(50);
+        assertThat(results).extracting(BatchResultDto::getIndex)
+                .containsExactlyElementsOf(IntStream.range(0, 50).boxed().toList());
+        assertThat(results.get(20).getStatus()).isEqualTo(404);
+        assertThat(results.get(20).getError()).contains("999");
+        assertThat(results.get(10).getStatus()).isEqualTo(201);
+        assertThat(results.get(10).getResult().getRequestId()).isEqualTo(request.getId());
+        assertThat(results.get(49).getResult().getName()).isEqualTo("Item 49");
+        assertThat(itemRepository.findByOwnerId(owner.getId())).hasSize(49);
+    }
+
+    @Test
+    void addItems_ForUnknownUser_ShouldFailWholeBatch() {
+        List<ItemDto> dtos = List.of(ItemDto.builder().name("Item").description("d").available(true).build());
+
+        assertThrows(NotFoundException.class, () -> itemService.addItems(999L, dtos));
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    @Test
+    void addBookings_ShouldReportMissingUnavailableAndOverlappingItems() {
+        Item drill = saveItem("Drill", true);
+        Item saw = saveItem("Saw", false);
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        bookingRepository.save(Booking.builder()
+                .item(drill)
+                .booker(booker)
+                .startDate(base.plusHours(10))
+                .endDate(base.plusHours(12))
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        List<BatchResultDto<BookingDto>> results = bookingService.addBookings(booker.getId(), List.of(
+                booking(drill.getId(), base, base.plusHours(2)),
+                booking(999L, base, base.plusHours(2)),
+                booking(saw.getId(), base, base.plusHours(2)),
+                booking(drill.getId(), base.plusHours(11), base.plusHours(13)),
+                booking(drill.getId(), base.plusHours(20), base.plusHours(22))));
+
+        assertThat(results).extracting(BatchResultDto::getStatus).containsExactly(201, 404, 400, 409, 201);
+        assertThat(results.get(0).getResult().getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(results.get(4).getResult().getItem().getName()).isEqualTo("Drill");
+        assertThat(bookingRepository.findByBookerId(booker.getId(), PageRequest.of(0, 10))).hasSize(3);
+    }
+
+    private Item saveItem(String name, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(name)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+
+    private static BookingCreateDto booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingCreateDto.builder().itemId(itemId).start(start).end(end).build();
+    }
+}
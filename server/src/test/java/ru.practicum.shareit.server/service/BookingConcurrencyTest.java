@@ -0,0 +1,138 @@
+package ru.practicum.shareit.server.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
+import ru.practicum.shareit.server.exception.DataConflictException;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+import ru.practicum.shareit.server.service.booking.BookingService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Много потоков одновременно бронируют и подтверждают одну вещь на пересекающиеся интервалы.
+// Подтвержденные бронирования не должны пересекаться, проигравшие получают конфликт (409)
+@Slf4j
+@SpringBootTest
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int SLOTS = 30;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private Item item;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Power drill")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        bookers.clear();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(User.builder()
+                    .name("Booker " + i)
+                    .email("booker" + i + "@example.com")
+                    .build()));
+        }
+    }
+
+    @Test
+    void concurrentBookingsOfOneItem_ShouldNeverOverlapWhenApproved() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (User booker : bookers) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDateTime from = base.plusHours(random.nextInt(SLOTS));
+                    BookingCreateDto createDto = BookingCreateDto.builder()
+                            .itemId(item.getId())
+                            .start(from)
+                            .end(from.plusHours(1 + random.nextInt(3)))
+                            .build();
+                    try {
+                        Long bookingId = bookingService.addBooking(booker.getId(), createDto).getId();
+                        bookingService.updateBooking(owner.getId(), bookingId, true);
+                        approved.incrementAndGet();
+                    } catch (DataConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(); // Любое исключение, кроме конфликта, проваливает тест
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        executor.shutdown();
+
+        List<Booking> approvedBookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .sorted(Comparator.comparing(Booking::getStartDate))
+                .toList();
+
+        // Границы включены, как в проверке пересечений: следующее бронирование начинается строго после конца
+        for (int i = 1; i < approvedBookings.size(); i++) {
+            assertThat(approvedBookings.get(i).getStartDate())
+                    .isAfter(approvedBookings.get(i - 1).getEndDate());
+        }
+        assertThat(approvedBookings).hasSize(approved.get()).isNotEmpty();
+        assertThat(conflicts.get()).isPositive();
+        assertThat(approved.get() + conflicts.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+
+        log.info("Booking stress: {} attempts, {} approved, {} conflicts, {} ms ({} attempts/s)",
+                THREADS * ATTEMPTS_PER_THREAD, approved.get(), conflicts.get(), elapsedMs,
+                THREADS * ATTEMPTS_PER_THREAD * 1000L / elapsedMs);
+    }
+}
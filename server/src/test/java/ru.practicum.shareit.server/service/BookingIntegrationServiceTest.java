@@ -11,6 +11,7 @@ import ru.practicum.shareit.server.dto.booking.BookingDto;
 import ru.practicum.shareit.server.dto.booking.BookingShortDto;
 import ru.practicum.shareit.server.dto.booking.BookingState;
 import ru.practicum.shareit.server.exception.ForbiddenException;
+import ru.practicum.shareit.server.exception.DataConflictException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.model.booking.Booking;
 import ru.practicum.shareit.server.model.booking.BookingStatus;
@@ -27,7 +28,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
-@Sql(scripts = {"/schema.sql"})
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
 class BookingIntegrationServiceTest {
 
     @Autowired
@@ -97,8 +98,8 @@ class BookingIntegrationServiceTest {
     @Test
     void testAddBooking_Success() {
         // Arrange
-        Long bookerId = 2L;
-        Long itemId = 1L;
+        Long bookerId = booker.getId();
+        Long itemId = item.getId();
 
         BookingCreateDto createDto = BookingCreateDto.builder()
                 .itemId(itemId)
@@ -120,8 +121,8 @@ class BookingIntegrationServiceTest {
     @Test
     void testAddBooking_ThrowsException_WhenItemIsNotAvailable() {
         // Arrange
-        Long userId = 2L;
-        Long itemId = 1L;
+        Long userId = booker.getId();
+        Long itemId = item.getId();
 
         BookingCreateDto createDto = BookingCreateDto.builder()
                 .itemId(itemId)
@@ -139,8 +140,8 @@ class BookingIntegrationServiceTest {
     @Test
     void testAddBooking_ThrowsException_WhenBookingOverlaps() {
         // Arrange
-        Long userId = 2L;
-        Long itemId = 1L;
+        Long userId = booker.getId();
+        Long itemId = item.getId();
 
         BookingCreateDto createDto = BookingCreateDto.builder()
                 .itemId(itemId)
@@ -149,7 +150,7 @@ class BookingIntegrationServiceTest {
                 .build();
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> bookingService.addBooking(userId, createDto));
+        assertThrows(DataConflictException.class, () -> bookingService.addBooking(userId, createDto));
     }
 
     @Test
@@ -164,11 +165,11 @@ class BookingIntegrationServiceTest {
     @Test
     void testGetAllBookingsByUser_Success() {
         // Arrange
-        Long userId = 2L;
+        Long userId = booker.getId();
         BookingState state = BookingState.ALL;
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsByUser(userId, state, userId);
+        List<BookingShortDto> result = bookingService.getAllBookingsByUser(userId, state, userId, 0, 10);
 
         // Assert
         assertNotNull(result);
@@ -179,21 +180,21 @@ class BookingIntegrationServiceTest {
     @Test
     void testGetAllBookingsByUser_ThrowsException_WhenUserHasNoAccess() {
         // Arrange
-        Long userId = 1L;
-        Long requesterId = 2L; // Не тот же пользователь
+        Long userId = owner.getId();
+        Long requesterId = booker.getId(); // Не тот же пользователь
         BookingState state = BookingState.ALL;
 
         // Act & Assert
-        assertThrows(ForbiddenException.class, () -> bookingService.getAllBookingsByUser(userId, state, requesterId));
+        assertThrows(ForbiddenException.class, () -> bookingService.getAllBookingsByUser(userId, state, requesterId, 0, 10));
     }
 
     @Test
     void testGetAllBookingsForOwnerItems_WithRealDatabase() {
         // Arrange
-        Long ownerId = 1L;
+        Long ownerId = owner.getId();
 
         // Act
-        var result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL);
+        var result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL, 0, 10);
 
         // Assert
         assertNotNull(result);
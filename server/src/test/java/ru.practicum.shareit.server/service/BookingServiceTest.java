@@ -1,13 +1,20 @@
 package ru.practicum.shareit.server.service;
 
+import ru.practicum.shareit.server.exception.BadRequestException;
+import ru.practicum.shareit.server.exception.DataConflictException;
 import ru.practicum.shareit.server.exception.ForbiddenException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
 import ru.practicum.shareit.server.dto.booking.BookingDto;
 import ru.practicum.shareit.server.dto.booking.BookingShortDto;
@@ -17,10 +24,12 @@ import ru.practicum.shareit.server.model.booking.BookingStatus;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.repository.booking.BookingRepository;
-import ru.practicum.shareit.server.repository.item.ItemRepository;
-import ru.practicum.shareit.server.repository.user.UserRepository;
 import ru.practicum.shareit.server.service.booking.BookingServiceImpl;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.storage.item.ItemStorage;
+import ru.practicum.shareit.server.storage.user.UserStorage;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -37,10 +46,13 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserStorage userStorage;
 
     @Mock
-    private ItemRepository itemRepository;
+    private ItemStorage itemStorage;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -91,8 +103,8 @@ class BookingServiceTest {
                 .end(LocalDateTime.now().plusHours(2))
                 .build();
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userStorage.findUserReferenceById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemStorage.findItemById(item.getId())).thenReturn(Optional.of(item));
 
         // Создаём мок для сохранения бронирования
         Booking savedBooking = new Booking();
@@ -103,7 +115,8 @@ class BookingServiceTest {
         savedBooking.setBooker(booker);
         savedBooking.setStatus(BookingStatus.WAITING);
 
-        when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
+        when(bookingRepository.lockItem(item.getId())).thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(savedBooking);
 
         // Act
         BookingDto bookingDto = bookingService.addBooking(booker.getId(), createDto);
@@ -114,6 +127,7 @@ class BookingServiceTest {
         assertEquals(createDto.getStart(), bookingDto.getStart());
         assertEquals(createDto.getEnd(), bookingDto.getEnd());
         assertEquals(BookingStatus.WAITING, bookingDto.getStatus());
+        verify(availabilityIndex).update(savedBooking);
     }
 
     @Test
@@ -126,13 +140,13 @@ class BookingServiceTest {
                 .end(LocalDateTime.now().plusDays(5))
                 .build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(userStorage.findUserReferenceById(userId)).thenReturn(Optional.of(booker));
+        when(itemStorage.findItemById(1L)).thenReturn(Optional.of(item));
         item.setAvailable(false); // Делаем вещь недоступной
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> bookingService.addBooking(userId, createDto));
-        verify(itemRepository, times(1)).findById(1L);
+        verify(itemStorage, times(1)).findItemById(1L);
     }
 
     @Test
@@ -145,15 +159,80 @@ class BookingServiceTest {
                 .end(LocalDateTime.now().plusDays(5))
                 .build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(userStorage.findUserReferenceById(userId)).thenReturn(Optional.of(booker));
+        when(itemStorage.findItemById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.lockItem(1L)).thenReturn(Optional.of(1L));
         when(bookingRepository.existsByItemIdAndDateOverlap(1L, createDto.getStart(), createDto.getEnd()))
                 .thenReturn(true);
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> bookingService.addBooking(userId, createDto));
+        assertThrows(DataConflictException.class, () -> bookingService.addBooking(userId, createDto));
         verify(bookingRepository, times(1))
                 .existsByItemIdAndDateOverlap(1L, createDto.getStart(), createDto.getEnd());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void addBooking_ShouldThrowConflict_WhenDatabaseRejectsOverlap() {
+        // Arrange
+        BookingCreateDto createDto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(5))
+                .build();
+
+        when(userStorage.findUserReferenceById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemStorage.findItemById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.lockItem(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> bookingService.addBooking(booker.getId(), createDto));
+    }
+
+    @Test
+    void addBooking_ShouldThrowConflict_WhenOverlapConstraintIsNamed() {
+        // Arrange
+        BookingCreateDto createDto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(5))
+                .build();
+
+        when(userStorage.findUserReferenceById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemStorage.findItemById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.lockItem(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("constraint violation"), "bookings_approved_no_overlap")));
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> bookingService.addBooking(booker.getId(), createDto));
+    }
+
+    @Test
+    void addBooking_ShouldRethrow_WhenOtherConstraintIsViolated() {
+        // Arrange
+        BookingCreateDto createDto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(5))
+                .build();
+
+        when(userStorage.findUserReferenceById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemStorage.findItemById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.lockItem(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("insert or update violates foreign key constraint", "23503")));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.addBooking(booker.getId(), createDto));
+        verify(availabilityIndex, never()).update(any(Booking.class));
     }
 
     @Test
@@ -164,7 +243,8 @@ class BookingServiceTest {
         BookingState state = BookingState.ALL;
 
         // Act & Assert
-        assertThrows(ForbiddenException.class, () -> bookingService.getAllBookingsByUser(userId, state, requesterId));
+        assertThrows(ForbiddenException.class,
+                () -> bookingService.getAllBookingsByUser(userId, state, requesterId, 0, 10));
     }
 
     @Test
@@ -174,16 +254,67 @@ class BookingServiceTest {
         BookingState state = BookingState.CURRENT;
 
         List<Booking> bookings = List.of(booking);
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByBookerId(userId)).thenReturn(bookings);
+        when(userStorage.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(
+                eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(bookings);
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsByUser(userId, state, userId);
+        List<BookingShortDto> result = bookingService.getAllBookingsByUser(userId, state, userId, 0, 10);
 
         // Assert
         assertFalse(result.isEmpty(), "Result should not be empty");
         assertEquals(1, result.size(), "Result should contain exactly one booking");
-        verify(bookingRepository, times(1)).findByBookerId(userId);
+        verify(bookingRepository, times(1)).findByBookerIdAndStartDateBeforeAndEndDateAfter(
+                eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllBookings_ShouldRequestPageSortedByStartDesc() {
+        // Arrange
+        Long userId = 2L;
+        when(userStorage.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findByBookerIdAndStatus(eq(userId), eq(BookingStatus.WAITING), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+
+        // Act
+        List<BookingDto> result = bookingService.getAllBookings(BookingState.WAITING, userId, 20, 10);
+
+        // Assert
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findByBookerIdAndStatus(eq(userId), eq(BookingStatus.WAITING), captor.capture());
+        assertEquals(1, result.size());
+        assertEquals(2, captor.getValue().getPageNumber());
+        assertEquals(10, captor.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "startDate").and(Sort.by(Sort.Direction.DESC, "id")),
+                captor.getValue().getSort());
+    }
+
+    @Test
+    void getAllBookings_ShouldStartPageAtFrom_WhenFromIsNotMultipleOfSize() {
+        // Arrange
+        Long userId = 2L;
+        when(userStorage.existsById(userId)).thenReturn(true);
+
+        // Act
+        bookingService.getAllBookings(BookingState.ALL, userId, 3, 2);
+
+        // Assert
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findByBookerId(eq(userId), captor.capture());
+        assertEquals(3, captor.getValue().getOffset());
+        assertEquals(2, captor.getValue().getPageSize());
+    }
+
+    @Test
+    void getAllBookings_ShouldThrowException_WhenSizeIsNotPositive() {
+        // Arrange
+        Long userId = 2L;
+        when(userStorage.existsById(userId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> bookingService.getAllBookings(BookingState.ALL, userId, 0, 0));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -198,7 +329,8 @@ class BookingServiceTest {
         existingBooking.setEndDate(LocalDateTime.now().plusHours(2));
 
         when(bookingRepository.findById(existingBooking.getId())).thenReturn(Optional.of(existingBooking));
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.lockItem(item.getId())).thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -209,6 +341,28 @@ class BookingServiceTest {
         assertEquals(BookingStatus.APPROVED, updatedBooking.getStatus());
     }
 
+    @Test
+    void testUpdateBooking_ThrowsConflict_WhenApprovedBookingOverlaps() {
+        // Arrange
+        Booking existingBooking = new Booking();
+        existingBooking.setId(1L);
+        existingBooking.setItem(item);
+        existingBooking.setBooker(booker);
+        existingBooking.setStatus(BookingStatus.WAITING);
+        existingBooking.setStartDate(LocalDateTime.now().plusHours(1));
+        existingBooking.setEndDate(LocalDateTime.now().plusHours(2));
+
+        when(bookingRepository.findById(existingBooking.getId())).thenReturn(Optional.of(existingBooking));
+        when(bookingRepository.lockItem(item.getId())).thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.existsByItemIdAndDateOverlap(item.getId(), existingBooking.getStartDate(),
+                existingBooking.getEndDate())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DataConflictException.class,
+                () -> bookingService.updateBooking(owner.getId(), existingBooking.getId(), true));
+        assertEquals(BookingStatus.WAITING, existingBooking.getStatus());
+    }
+
     @Test
     void testUpdateBooking_Rejected() {
         // Arrange
@@ -221,7 +375,7 @@ class BookingServiceTest {
         existingBooking.setEndDate(LocalDateTime.now().plusHours(2));
 
         when(bookingRepository.findById(existingBooking.getId())).thenReturn(Optional.of(existingBooking));
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -319,11 +473,11 @@ class BookingServiceTest {
 
         List<Booking> bookings = List.of(booking1, booking2);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(bookings);
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_Id(eq(ownerId), any(Pageable.class))).thenReturn(bookings);
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL, 0, 10);
 
         // Assert
         assertNotNull(result);
@@ -341,45 +495,11 @@ class BookingServiceTest {
         // Arrange
         Long nonExistentOwnerId = 999L;
 
-        when(userRepository.existsById(nonExistentOwnerId)).thenReturn(false);
+        when(userStorage.existsById(nonExistentOwnerId)).thenReturn(false);
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> bookingService
-                .getAllBookingsForOwnerItems(nonExistentOwnerId, BookingState.ALL));
-    }
-
-    @Test
-    void testGetAllBookingsForOwnerItems_FilteredByState_Current() {
-        // Arrange
-        Long ownerId = owner.getId();
-        Booking currentBooking = new Booking();
-        currentBooking.setId(1L);
-        currentBooking.setItem(item);
-        currentBooking.setBooker(booker);
-        currentBooking.setStartDate(LocalDateTime.now().minusHours(1));
-        currentBooking.setEndDate(LocalDateTime.now().plusHours(1));
-
-        Booking futureBooking = new Booking();
-        futureBooking.setId(2L);
-        futureBooking.setItem(item);
-        futureBooking.setBooker(booker);
-        futureBooking.setStartDate(LocalDateTime.now().plusHours(1));
-        futureBooking.setEndDate(LocalDateTime.now().plusHours(2));
-
-        List<Booking> bookings = List.of(currentBooking, futureBooking);
-
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(bookings);
-
-        // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.CURRENT);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(currentBooking.getId(), result.get(0).getId());
-        assertEquals(currentBooking.getStartDate(), result.get(0).getStart());
-        assertEquals(currentBooking.getEndDate(), result.get(0).getEnd());
+                .getAllBookingsForOwnerItems(nonExistentOwnerId, BookingState.ALL, 0, 10));
     }
 
     @Test
@@ -387,11 +507,12 @@ class BookingServiceTest {
         // Arrange
         Long ownerId = owner.getId();
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(Collections.emptyList());
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_Id(eq(ownerId), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL, 0, 10);
 
         // Assert
         assertNotNull(result);
@@ -399,126 +520,102 @@ class BookingServiceTest {
     }
 
     @Test
-    void testFilterBookingsByState_All_ThroughPublicMethod() {
-        // Arrange
-        Long ownerId = owner.getId();
-        Booking booking1 = createBooking(1L, LocalDateTime.now().minusDays(1),
-                LocalDateTime.now().plusDays(1), BookingStatus.APPROVED);
-        Booking booking2 = createBooking(2L, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), BookingStatus.REJECTED);
-
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(List.of(booking1, booking2));
-
-        // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.ALL);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-    }
-
-    @Test
-    void testFilterBookingsByState_Current_ThroughPublicMethod() {
+    void testFindOwnerBookings_Current_ThroughPublicMethod() {
         // Arrange
         Long ownerId = owner.getId();
         Booking currentBooking = createBooking(1L, LocalDateTime.now().minusHours(1),
                 LocalDateTime.now().plusHours(1), BookingStatus.APPROVED);
-        Booking pastBooking = createBooking(2L, LocalDateTime.now().minusDays(2),
-                LocalDateTime.now().minusDays(1), BookingStatus.REJECTED);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(List.of(currentBooking, pastBooking));
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_IdAndStartDateBeforeAndEndDateAfter(
+                eq(ownerId), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(currentBooking));
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.CURRENT);
+        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.CURRENT, 0, 10);
 
         // Assert
-        assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(currentBooking.getId(), result.get(0).getId());
     }
 
     @Test
-    void testFilterBookingsByState_Past_ThroughPublicMethod() {
+    void testFindOwnerBookings_Past_ThroughPublicMethod() {
         // Arrange
         Long ownerId = owner.getId();
         Booking pastBooking = createBooking(1L, LocalDateTime.now().minusDays(2),
                 LocalDateTime.now().minusDays(1), BookingStatus.REJECTED);
-        Booking futureBooking = createBooking(2L, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2), BookingStatus.WAITING);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(List.of(pastBooking, futureBooking));
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_IdAndEndDateBefore(
+                eq(ownerId), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pastBooking));
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.PAST);
+        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.PAST, 0, 10);
 
         // Assert
-        assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(pastBooking.getId(), result.get(0).getId());
     }
 
     @Test
-    void testFilterBookingsByState_Future_ThroughPublicMethod() {
+    void testFindOwnerBookings_Future_ThroughPublicMethod() {
         // Arrange
         Long ownerId = owner.getId();
         Booking futureBooking = createBooking(1L, LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(2), BookingStatus.WAITING);
-        Booking currentBooking = createBooking(2L, LocalDateTime.now().minusHours(1),
-                LocalDateTime.now().plusHours(1), BookingStatus.APPROVED);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(List.of(futureBooking, currentBooking));
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_IdAndStartDateAfter(
+                eq(ownerId), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(futureBooking));
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.FUTURE);
+        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.FUTURE, 0, 10);
 
         // Assert
-        assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(futureBooking.getId(), result.get(0).getId());
     }
 
     @Test
-    void testFilterBookingsByState_Waiting_ThroughPublicMethod() {
+    void testFindOwnerBookings_Waiting_ThroughPublicMethod() {
         // Arrange
         Long ownerId = owner.getId();
         Booking waitingBooking = createBooking(1L, LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(2), BookingStatus.WAITING);
-        Booking approvedBooking = createBooking(2L, LocalDateTime.now().minusHours(1),
-                LocalDateTime.now().plusHours(1), BookingStatus.APPROVED);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(List.of(waitingBooking, approvedBooking));
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_IdAndStatus(
+                eq(ownerId), eq(BookingStatus.WAITING), any(Pageable.class)))
+                .thenReturn(List.of(waitingBooking));
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.WAITING);
+        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.WAITING, 0, 10);
 
         // Assert
-        assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(waitingBooking.getId(), result.get(0).getId());
     }
 
     @Test
-    void testFilterBookingsByState_Rejected_ThroughPublicMethod() {
+    void testFindOwnerBookings_Rejected_ThroughPublicMethod() {
         // Arrange
         Long ownerId = owner.getId();
         Booking rejectedBooking = createBooking(1L, LocalDateTime.now().minusDays(2),
                 LocalDateTime.now().minusDays(1), BookingStatus.REJECTED);
-        Booking waitingBooking = createBooking(2L, LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2), BookingStatus.WAITING);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
-        when(bookingRepository.findByItem_Owner_Id(ownerId)).thenReturn(List.of(rejectedBooking, waitingBooking));
+        when(userStorage.existsById(ownerId)).thenReturn(true);
+        when(bookingRepository.findByItem_Owner_IdAndStatus(
+                eq(ownerId), eq(BookingStatus.REJECTED), any(Pageable.class)))
+                .thenReturn(List.of(rejectedBooking));
 
         // Act
-        List<BookingShortDto> result = bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.REJECTED);
+        List<BookingShortDto> result =
+                bookingService.getAllBookingsForOwnerItems(ownerId, BookingState.REJECTED, 0, 10);
 
         // Assert
-        assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(rejectedBooking.getId(), result.get(0).getId());
     }
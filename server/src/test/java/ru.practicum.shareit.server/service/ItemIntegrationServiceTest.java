@@ -6,21 +6,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
+import ru.practicum.shareit.server.dto.booking.BookingDto;
+import ru.practicum.shareit.server.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.server.dto.item.ItemDto;
+import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.repository.booking.BookingRepository;
 import ru.practicum.shareit.server.repository.item.CommentRepository;
+import ru.practicum.shareit.server.service.booking.BookingService;
 import ru.practicum.shareit.server.service.item.ItemService;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
 import ru.practicum.shareit.server.storage.item.ItemStorage;
 import ru.practicum.shareit.server.storage.user.UserStorage;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
-@Sql(scripts = {"/schema.sql"}) // Создает таблицы из schema.sql
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
 class ItemIntegrationServiceTest {
 
     @Autowired
@@ -38,6 +47,12 @@ class ItemIntegrationServiceTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
     private User owner;
     private Item item;
 
@@ -56,6 +71,9 @@ class ItemIntegrationServiceTest {
         item.setAvailable(true);
         item.setOwner(owner);
         itemStorage.addItem(item);
+
+        // Таблицы очищаются скриптом в обход сервиса бронирований
+        availabilityIndex.rebuild();
     }
 
     @AfterEach
@@ -128,11 +146,54 @@ class ItemIntegrationServiceTest {
         String text = "bike";
 
         // Act
-        Collection<ItemDto> result = itemService.searchItems(text);
+        Collection<ItemDto> result = itemService.searchItems(text, null, null, 0, 10);
 
         // Assert
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetItemAvailability_ExcludesApprovedAndWaitingBookings() {
+        // Arrange
+        User booker = userStorage.addUser(User.builder().name("Booker").email("booker@example.com").build());
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        BookingDto approved = bookingService.addBooking(booker.getId(), BookingCreateDto.builder()
+                .itemId(item.getId())
+                .start(base.plusDays(1))
+                .end(base.plusDays(2))
+                .build());
+        bookingService.updateBooking(owner.getId(), approved.getId(), true);
+        bookingService.addBooking(booker.getId(), BookingCreateDto.builder()
+                .itemId(item.getId())
+                .start(base.plusDays(4))
+                .end(base.plusDays(5))
+                .build());
+        BookingDto rejected = bookingService.addBooking(booker.getId(), BookingCreateDto.builder()
+                .itemId(item.getId())
+                .start(base.plusDays(6))
+                .end(base.plusDays(7))
+                .build());
+        bookingService.updateBooking(owner.getId(), rejected.getId(), false);
+
+        // Act
+        List<AvailabilityWindowDto> windows = itemService.getItemAvailability(item.getId(), base,
+                base.plusDays(10));
+
+        // Assert
+        assertEquals(List.of(
+                new AvailabilityWindowDto(base, base.plusDays(1)),
+                new AvailabilityWindowDto(base.plusDays(2), base.plusDays(4)),
+                new AvailabilityWindowDto(base.plusDays(5), base.plusDays(10))), windows);
+    }
+
+    @Test
+    void testGetItemAvailability_ThrowsException_WhenItemNotFound() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(NotFoundException.class,
+                () -> itemService.getItemAvailability(999L, from, from.plusDays(1)));
+    }
+}
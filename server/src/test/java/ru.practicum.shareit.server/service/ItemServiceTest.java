@@ -11,13 +11,18 @@ import ru.practicum.shareit.server.dto.item.CommentDto;
 import ru.practicum.shareit.server.dto.item.ItemDto;
 import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.exception.ForbiddenException;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
 import ru.practicum.shareit.server.model.item.Comment;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.request.Request;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.booking.BookingTimelineView;
 import ru.practicum.shareit.server.repository.item.CommentRepository;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
 import ru.practicum.shareit.server.service.item.ItemService;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
 import ru.practicum.shareit.server.storage.item.ItemStorage;
 import ru.practicum.shareit.server.storage.request.RequestStorage;
 import ru.practicum.shareit.server.storage.user.UserStorage;
@@ -36,6 +41,9 @@ class ItemServiceTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
     @MockBean
     private ItemStorage itemStorage;
 
@@ -81,7 +89,7 @@ class ItemServiceTest {
                 .requestId(999L) // Несуществующий requestId
                 .build();
 
-        when(userStorage.findUserById(userId)).thenReturn(Optional.of(owner));
+        when(userStorage.findUserReferenceById(userId)).thenReturn(Optional.of(owner));
         when(requestStorage.findRequestById(999L)).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementException.class, () -> itemService.addItem(userId, dto));
@@ -101,7 +109,7 @@ class ItemServiceTest {
         Request request = new Request();
         request.setId(1L);
 
-        when(userStorage.findUserById(userId)).thenReturn(Optional.of(owner));
+        when(userStorage.findUserReferenceById(userId)).thenReturn(Optional.of(owner));
         when(requestStorage.findRequestById(1L)).thenReturn(Optional.of(request));
         when(itemStorage.addItem(any(Item.class))).thenAnswer(invocation -> {
             Item savedItem = invocation.getArgument(0);
@@ -136,21 +144,56 @@ class ItemServiceTest {
     @Test
     void searchItems_ShouldReturnMatchingItems_WhenTextIsProvided() {
         String text = "bike";
-        Item matchingItem = new Item();
-        matchingItem.setId(1L);
-        matchingItem.setName("Bike");
-        matchingItem.setDescription("Mountain bike for rent");
-        matchingItem.setAvailable(true);
+        ItemSearchView matchingItem = mock(ItemSearchView.class);
+        when(matchingItem.getId()).thenReturn(1L);
+        when(matchingItem.getName()).thenReturn("Bike");
+        when(matchingItem.getDescription()).thenReturn("Mountain bike for rent");
+        when(matchingItem.getAvailable()).thenReturn(true);
 
-        when(itemStorage.getAllItems()).thenReturn(List.of(matchingItem));
+        when(itemStorage.searchItems(text, 0, 10)).thenReturn(List.of(matchingItem));
 
-        Collection<ItemDto> result = itemService.searchItems(text);
+        Collection<ItemDto> result = itemService.searchItems(text, null, null, 0, 10);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals("Bike", result.iterator().next().getName());
     }
 
+    @Test
+    void searchItems_ShouldFilterByAvailability_WhenIntervalIsProvided() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(itemStorage.searchItemsFreeBetween("bike", start, end, 0, 10)).thenReturn(List.of());
+
+        Collection<ItemDto> result = itemService.searchItems("bike", start, end, 0, 10);
+
+        assertTrue(result.isEmpty());
+        verify(itemStorage, never()).searchItems(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchItems_ShouldThrowException_WhenSizeIsNotPositive() {
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("bike", null, null, 0, 0));
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("bike", null, null, -1, 10));
+        verify(itemStorage, never()).searchItems(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchItems_ShouldThrowException_WhenStartIsNotBeforeEnd() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("bike", start, start, 0, 10));
+        assertThrows(BadRequestException.class,
+                () -> itemService.searchItems("bike", start, start.minusHours(1), 0, 10));
+        verify(itemStorage, never()).searchItemsFreeBetween(anyString(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchItems_ShouldThrowException_WhenOnlyStartIsProvided() {
+        assertThrows(BadRequestException.class,
+                () -> itemService.searchItems("bike", LocalDateTime.now(), null, 0, 10));
+    }
+
     @Test
     void addComment_ShouldThrowException_WhenUserHasNoBooking() {
         Long userId = 1L;
@@ -159,8 +202,8 @@ class ItemServiceTest {
                 .text("Great item!")
                 .build();
 
-        when(userStorage.findUserById(userId)).thenReturn(Optional.of(owner));
-        when(itemStorage.findItemById(itemId)).thenReturn(Optional.of(item));
+        when(userStorage.findUserSnapshotById(userId)).thenReturn(Optional.of(owner));
+        when(itemStorage.findItemReferenceById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.existsByUserAndItemAndApprovedStatus(userId, itemId)).thenReturn(false);
 
         assertThrows(BadRequestException.class, () -> itemService.addComment(userId, itemId, commentDto));
@@ -178,7 +221,7 @@ class ItemServiceTest {
         comment.setAuthor(owner);
         comment.setCreated(LocalDateTime.now());
 
-        when(itemStorage.findItemById(itemId)).thenReturn(Optional.of(item));
+        when(itemStorage.findItemSnapshotById(itemId)).thenReturn(Optional.of(item));
         when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
 
         // Act
@@ -205,6 +248,40 @@ class ItemServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getAllItems_ShouldLoadBookingsForAllItemsInOneQuery() {
+        // Arrange
+        Long userId = 1L;
+        Item secondItem = item.toBuilder().id(2L).name("Scooter").build();
+
+        BookingTimelineView last = mock(BookingTimelineView.class);
+        when(last.getId()).thenReturn(10L);
+        when(last.getItemId()).thenReturn(1L);
+        when(last.getBookerId()).thenReturn(5L);
+        when(last.getKind()).thenReturn(BookingTimelineView.LAST);
+
+        BookingTimelineView next = mock(BookingTimelineView.class);
+        when(next.getId()).thenReturn(11L);
+        when(next.getItemId()).thenReturn(2L);
+        when(next.getBookerId()).thenReturn(5L);
+        when(next.getKind()).thenReturn(BookingTimelineView.NEXT);
+
+        when(itemStorage.getItemsByOwnerId(userId)).thenReturn(List.of(item, secondItem));
+        when(bookingRepository.findBookingTimeline(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(last, next));
+
+        // Act
+        List<ItemDto> result = new ArrayList<>(itemService.getAllItems(userId));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(0).getLastBooking().getId());
+        assertNull(result.get(0).getNextBooking());
+        assertNull(result.get(1).getLastBooking());
+        assertEquals(11L, result.get(1).getNextBooking().getId());
+        verify(bookingRepository, times(1)).findBookingTimeline(anyCollection(), any(LocalDateTime.class));
+    }
+
     @Test
     void deleteItemById_ShouldDeleteItem() {
         // Arrange
@@ -219,6 +296,27 @@ class ItemServiceTest {
         verify(itemStorage, times(1)).deleteItemById(itemId);
     }
 
+    @Test
+    void deleteItemById_ShouldDropItemFromAvailabilityIndex() {
+        // Arrange
+        Long itemId = 77L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = Booking.builder()
+                .id(770L)
+                .item(Item.builder().id(itemId).build())
+                .startDate(start)
+                .endDate(start.plusDays(1))
+                .status(BookingStatus.APPROVED)
+                .build();
+        availabilityIndex.update(booking);
+
+        // Act
+        itemService.deleteItemById(itemId);
+
+        // Assert
+        assertTrue(availabilityIndex.isFree(itemId, start, start.plusDays(1)));
+    }
+
     @Test
     void deleteAllItems_ShouldDeleteAllItems() {
         // Arrange
@@ -240,8 +338,8 @@ class ItemServiceTest {
                 .text("Great item!")
                 .build();
 
-        when(userStorage.findUserById(userId)).thenReturn(Optional.of(owner));
-        when(itemStorage.findItemById(itemId)).thenReturn(Optional.of(item));
+        when(userStorage.findUserSnapshotById(userId)).thenReturn(Optional.of(owner));
+        when(itemStorage.findItemReferenceById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.existsByUserAndItemAndApprovedStatus(userId, itemId)).thenReturn(true);
         when(bookingRepository.existsByUserAndItemAndApprovedStatusAndEndDateBefore(userId, itemId, LocalDateTime.now()))
                 .thenReturn(false);
@@ -256,7 +354,7 @@ class ItemServiceTest {
         String text = "";
 
         // Act
-        Collection<ItemDto> result = itemService.searchItems(text);
+        Collection<ItemDto> result = itemService.searchItems(text, null, null, 0, 10);
 
         // Assert
         assertTrue(result.isEmpty());
@@ -22,7 +22,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
-@Sql(scripts = {"/schema.sql"}) // Создает таблицы из schema.sql
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
 class RequestIntegrationTest {
 
     @Autowired
@@ -131,12 +131,27 @@ class RequestIntegrationTest {
         Long userId = user1.getId();
 
         // Act
-        List<RequestDto> result = requestService.getAllRequestsExcludingUser(userId);
+        List<RequestDto> result = requestService.getAllRequestsExcludingUser(userId, null, null, 10);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Request 2", result.get(0).getDescription());
+        assertEquals(1, result.get(0).getItems().size());
+        assertEquals("Item 2", result.get(0).getItems().get(0).getName());
+    }
+
+    @Test
+    void testGetAllRequestsExcludingUser_AfterCursor() {
+        // Arrange
+        RequestDto last = requestService.getAllRequestsExcludingUser(user1.getId(), null, null, 10).get(0);
+
+        // Act
+        List<RequestDto> result = requestService.getAllRequestsExcludingUser(
+                user1.getId(), last.getCreated(), last.getId(), 10);
+
+        // Assert
+        assertTrue(result.isEmpty());
     }
 
     @Test
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.server.dto.request.RequestDto;
 import ru.practicum.shareit.server.model.request.Request;
 import ru.practicum.shareit.server.model.user.User;
@@ -62,7 +63,8 @@ class RequestServiceTest {
                 .description("Need a bike")
                 .build();
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(requester));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(requester);
         when(requestRepository.save(any(Request.class))).thenAnswer(invocation -> {
             Request savedRequest = invocation.getArgument(0);
             savedRequest.setId(1L); // Устанавливаем ID для сохраненного запроса
@@ -82,7 +84,7 @@ class RequestServiceTest {
     void testGetAllRequestsByUser() {
         // Arrange
         when(requestRepository.findByRequesterIdOrderByCreatedDesc(1L)).thenReturn(List.of(request));
-        when(itemRepository.findByRequestId(1L)).thenReturn(Collections.emptyList());
+        when(itemRepository.findByRequestIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // Act
         List<RequestDto> requests = requestService.getAllRequestsByUser(1L);
@@ -96,16 +98,33 @@ class RequestServiceTest {
     @Test
     void testGetAllRequestsExcludingUser() {
         // Arrange
-        when(requestRepository.findAllExcludingRequester(1L)).thenReturn(List.of(request));
-        when(itemRepository.findByRequestId(1L)).thenReturn(Collections.emptyList());
+        when(requestRepository.findAllExcludingRequester(1L, PageRequest.of(0, 10))).thenReturn(List.of(request));
+        when(itemRepository.findByRequestIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // Act
-        List<RequestDto> requests = requestService.getAllRequestsExcludingUser(1L);
+        List<RequestDto> requests = requestService.getAllRequestsExcludingUser(1L, null, null, 10);
 
         // Assert
         assertThat(requests).hasSize(1);
         assertThat(requests.get(0).getDescription()).isEqualTo("Need a bike");
-        verify(requestRepository, times(1)).findAllExcludingRequester(1L);
+        verify(requestRepository, times(1)).findAllExcludingRequester(1L, PageRequest.of(0, 10));
+        verify(itemRepository, never()).findByRequestId(anyLong());
+    }
+
+    @Test
+    void testGetAllRequestsExcludingUser_WithCursor() {
+        // Arrange
+        LocalDateTime created = request.getCreated().plusHours(1);
+        when(requestRepository.findAllExcludingRequesterBefore(1L, created, 5L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(request));
+        when(itemRepository.findByRequestIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // Act
+        List<RequestDto> requests = requestService.getAllRequestsExcludingUser(1L, created, 5L, 10);
+
+        // Assert
+        assertThat(requests).hasSize(1);
+        verify(requestRepository, never()).findAllExcludingRequester(anyLong(), any());
     }
 
     @Test
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.server.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.server.dto.booking.BookingState;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.request.Request;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.request.RequestRepository;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+import ru.practicum.shareit.server.service.booking.BookingService;
+import ru.practicum.shareit.server.service.item.ItemService;
+import ru.practicum.shareit.server.service.request.RequestService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Проверка отсутствия N+1: число SQL-запросов списочных методов не зависит от количества строк
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StatementCountIntegrationTest {
+
+    private static final int ITEMS = 5;
+    private static final int BOOKERS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM bookings");
+        jdbcTemplate.execute("DELETE FROM items");
+        jdbcTemplate.execute("DELETE FROM requests");
+        jdbcTemplate.execute("DELETE FROM users");
+
+        owner = userRepository.save(User.builder().name("Owner").email("owner@example.com").build());
+
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(User.builder()
+                    .name("Booker " + i)
+                    .email("booker" + i + "@example.com")
+                    .build()));
+        }
+        booker = bookers.get(0);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            // Каждая вещь создана в ответ на отдельный запрос одного из арендаторов
+            Request request = requestRepository.save(Request.builder()
+                    .description("Request " + i)
+                    .requester(bookers.get(i % BOOKERS))
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .requestId(request.getId())
+                    .build());
+            for (int j = 0; j < bookers.size(); j++) {
+                // Прошедшие и будущие бронирования, чтобы у вещей были lastBooking и nextBooking
+                LocalDateTime start = j % 2 == 0 ? now.minusDays(10 + j) : now.plusDays(10 + j);
+                bookingRepository.save(Booking.builder()
+                        .startDate(start)
+                        .endDate(start.plusDays(1))
+                        .item(item)
+                        .booker(j == 0 ? booker : bookers.get(j))
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllBookings_ShouldUseConstantNumberOfStatements() {
+        assertEquals(ITEMS, bookingService.getAllBookings(BookingState.ALL, booker.getId(), 0, 100).size());
+
+        // Проверка пользователя + страница бронирований с вещью и арендатором
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllBookingsByUser_ShouldUseConstantNumberOfStatements() {
+        assertEquals(ITEMS, bookingService
+                .getAllBookingsByUser(booker.getId(), BookingState.ALL, booker.getId(), 0, 100).size());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllBookingsForOwnerItems_ShouldUseConstantNumberOfStatements() {
+        assertEquals(ITEMS * BOOKERS, bookingService
+                .getAllBookingsForOwnerItems(owner.getId(), BookingState.ALL, 0, 100).size());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllItems_ShouldUseConstantNumberOfStatements() {
+        assertEquals(ITEMS, itemService.getAllItems(owner.getId()).size());
+
+        // Вещи владельца + последние/ближайшие бронирования всех вещей
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllRequestsExcludingUser_ShouldUseConstantNumberOfStatements() {
+        assertEquals(ITEMS, requestService.getAllRequestsExcludingUser(owner.getId(), null, null, 100).size());
+
+        // Страница запросов + вещи всех запросов страницы
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBookingById_ShouldUseSingleStatement() {
+        Long bookingId = bookingRepository.findByBookerId(booker.getId(), PageRequest.of(0, 10)).get(0).getId();
+        statistics.clear();
+
+        bookingService.getBookingById(bookingId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
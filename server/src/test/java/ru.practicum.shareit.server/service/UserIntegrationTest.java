@@ -11,13 +11,15 @@ import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.service.user.UserService;
 import ru.practicum.shareit.server.storage.user.UserStorage;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
-@Sql(scripts = {"/schema.sql"})// Создает таблицы из schema.sql
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
 public class UserIntegrationTest {
 
     @Autowired
@@ -110,7 +112,7 @@ public class UserIntegrationTest {
     @Test
     void testGetAllUsers() {
         // Act
-        Collection<UserDto> result = userService.getAllUsers();
+        Collection<UserDto> result = userService.getAllUsers(null, 100);
 
         // Assert
         assertNotNull(result);
@@ -136,6 +138,28 @@ public class UserIntegrationTest {
         userService.deleteAllUsers();
 
         // Assert
-        assertTrue(userService.getAllUsers().isEmpty());
+        assertTrue(userService.getAllUsers(null, 100).isEmpty());
+    }
+
+    @Test
+    void testGetAllUsers_ShouldStartAfterCursor() {
+        // Act
+        Collection<UserDto> result = userService.getAllUsers(user1.getId(), 100);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(user2.getId(), result.iterator().next().getId());
+    }
+
+    @Test
+    void testStreamAllUsers() {
+        // Act
+        List<UserDto> result = new ArrayList<>();
+        userService.streamAllUsers(null, result::add);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(user1.getId(), result.get(0).getId());
+        assertEquals(user2.getEmail(), result.get(1).getEmail());
     }
 }
\ No newline at end of file
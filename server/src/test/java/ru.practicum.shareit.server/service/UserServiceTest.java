@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import ru.practicum.shareit.server.dto.user.UserDto;
+import ru.practicum.shareit.server.exception.BadRequestException;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.storage.user.UserStorage;
 import ru.practicum.shareit.server.service.user.UserService;
@@ -14,6 +15,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -98,7 +100,7 @@ class UserServiceTest {
     @Test
     void testGetUserById() {
         // Arrange
-        when(userStorage.findUserById(1L)).thenReturn(Optional.of(user));
+        when(userStorage.findUserSnapshotById(1L)).thenReturn(Optional.of(user));
 
         // Act
         UserDto userDto = userService.getUserById(1L);
@@ -107,22 +109,29 @@ class UserServiceTest {
         assertThat(userDto).isNotNull();
         assertThat(userDto.getName()).isEqualTo(user.getName());
         assertThat(userDto.getEmail()).isEqualTo(user.getEmail());
-        verify(userStorage, times(1)).findUserById(1L);
+        verify(userStorage, times(1)).findUserSnapshotById(1L);
     }
 
     @Test
     void testGetAllUsers() {
         // Arrange
-        when(userStorage.getAllUsers()).thenReturn(List.of(user));
+        when(userStorage.getAllUsers(null, 100)).thenReturn(List.of(user));
 
         // Act
-        List<UserDto> users = (List<UserDto>) userService.getAllUsers();
+        List<UserDto> users = (List<UserDto>) userService.getAllUsers(null, 100);
 
         // Assert
         assertThat(users).hasSize(1);
         assertThat(users.get(0).getName()).isEqualTo(user.getName());
         assertThat(users.get(0).getEmail()).isEqualTo(user.getEmail());
-        verify(userStorage, times(1)).getAllUsers();
+        verify(userStorage, times(1)).getAllUsers(null, 100);
+    }
+
+    @Test
+    void testGetAllUsers_ShouldThrowException_WhenLimitIsNotPositive() {
+        assertThrows(BadRequestException.class, () -> userService.getAllUsers(null, 0));
+        assertThrows(BadRequestException.class, () -> userService.getAllUsers(null, -1));
+        verify(userStorage, never()).getAllUsers(any(), anyInt());
     }
 
     @Test
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.server.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.repository.booking.BookingIntervalView;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.storage.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.storage.booking.IntervalTree;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingAvailabilityIndex(bookingRepository, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void rebuild_ShouldLoadApprovedAndWaitingBookings() {
+        when(bookingRepository.findActiveIntervals(any(), any())).thenReturn(List.of(
+                view(1L, 1L, at(10), at(20), BookingStatus.APPROVED),
+                view(2L, 1L, at(30), at(40), BookingStatus.WAITING)));
+
+        index.rebuild();
+
+        assertThat(index.isFree(1L, at(12), at(13))).isFalse();
+        assertThat(index.isFree(1L, at(35), at(36))).isFalse();
+        assertThat(index.isFree(1L, at(21), at(29))).isTrue();
+        assertThat(index.isFree(2L, at(0), at(100))).isTrue();
+    }
+
+    @Test
+    void findFreeWindows_ShouldReturnGapsBetweenMergedBookings() {
+        index.update(booking(1L, at(10), at(20), BookingStatus.APPROVED));
+        index.update(booking(2L, at(15), at(25), BookingStatus.WAITING));
+        index.update(booking(3L, at(40), at(50), BookingStatus.APPROVED));
+
+        List<IntervalTree.Interval> windows = index.findFreeWindows(1L, at(0), at(60));
+
+        assertThat(windows).containsExactly(
+                new IntervalTree.Interval(at(0), at(10)),
+                new IntervalTree.Interval(at(25), at(40)),
+                new IntervalTree.Interval(at(50), at(60)));
+    }
+
+    @Test
+    void findFreeWindows_ShouldReturnWholeRangeForFreeItem() {
+        assertThat(index.findFreeWindows(1L, at(0), at(10)))
+                .containsExactly(new IntervalTree.Interval(at(0), at(10)));
+    }
+
+    @Test
+    void update_ShouldReleaseRejectedBooking() {
+        index.update(booking(1L, at(10), at(20), BookingStatus.WAITING));
+        index.update(booking(1L, at(10), at(20), BookingStatus.REJECTED));
+
+        assertThat(index.isFree(1L, at(10), at(20))).isTrue();
+    }
+
+    @Test
+    void evictEndedBefore_ShouldDropEndedBookingsAndEmptyItems() {
+        index.update(booking(1L, at(10), at(20), BookingStatus.APPROVED));
+        index.update(booking(2L, at(30), at(40), BookingStatus.WAITING));
+        index.update(bookingOf(3L, 2L, at(10), at(20), BookingStatus.APPROVED));
+
+        index.evictEndedBefore(at(25));
+
+        assertThat(index.isFree(1L, at(10), at(20))).isTrue();
+        assertThat(index.isFree(1L, at(35), at(36))).isFalse();
+        assertThat(index.itemCount()).isEqualTo(1);
+    }
+
+    @Test
+    void update_ShouldDropItemWithoutBookings() {
+        index.update(booking(1L, at(10), at(20), BookingStatus.WAITING));
+        index.update(booking(1L, at(10), at(20), BookingStatus.CANCELED));
+
+        assertThat(index.itemCount()).isZero();
+    }
+
+    @Test
+    void removeItem_ShouldDropItemEntry() {
+        index.update(booking(1L, at(10), at(20), BookingStatus.APPROVED));
+
+        index.removeItem(1L);
+
+        assertThat(index.isFree(1L, at(10), at(20))).isTrue();
+        assertThat(index.itemCount()).isZero();
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return bookingOf(id, 1L, start, end, status);
+    }
+
+    private static Booking bookingOf(Long id, Long itemId, LocalDateTime start, LocalDateTime end,
+                                     BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(Item.builder().id(itemId).build());
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static BookingIntervalView view(Long id, Long itemId, LocalDateTime start, LocalDateTime end,
+                                            BookingStatus status) {
+        return new BookingIntervalView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+
+            @Override
+            public BookingStatus getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private static LocalDateTime at(int hours) {
+        return BASE.plusHours(hours);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.server.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.server.datasource.PrimaryReader;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.storage.item.CachingItemStorage;
+import ru.practicum.shareit.server.storage.item.DatabaseItemStorage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingItemStorageTest {
+
+    @Mock
+    private DatabaseItemStorage delegate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CachingItemStorage itemStorage;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        itemStorage = new CachingItemStorage(delegate, new PrimaryReader(null, false), entityManager,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+        item = Item.builder()
+                .id(1L)
+                .name("Drill")
+                .description("Power drill")
+                .available(true)
+                .owner(User.builder().id(10L).build())
+                .build();
+    }
+
+    @Test
+    void findItemSnapshotById_ShouldHitDatabaseOnce() {
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item));
+
+        assertThat(itemStorage.findItemSnapshotById(1L)).isPresent();
+        assertThat(itemStorage.findItemSnapshotById(1L).orElseThrow().getOwner().getId()).isEqualTo(10L);
+
+        verify(delegate, times(1)).findItemById(1L);
+    }
+
+    @Test
+    void findItemSnapshotById_ShouldReturnCopy() {
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item));
+
+        itemStorage.findItemSnapshotById(1L).orElseThrow().setAvailable(false);
+
+        assertThat(itemStorage.findItemSnapshotById(1L).orElseThrow().getAvailable()).isTrue();
+    }
+
+    @Test
+    void findItemSnapshotById_ShouldReplaceLazyAssociationsWithIdReferences() {
+        Item withRequest = item.toBuilder().requestId(5L).build();
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(withRequest));
+
+        Item snapshot = itemStorage.findItemSnapshotById(1L).orElseThrow();
+
+        assertThat(snapshot.getOwner()).isNotSameAs(item.getOwner());
+        assertThat(snapshot.getOwner().getId()).isEqualTo(10L);
+        assertThat(snapshot.getRequest().getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void findItemReferenceById_ShouldCheckExistenceInCache() {
+        Item reference = Item.builder().id(1L).build();
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item));
+        when(entityManager.getReference(Item.class, 1L)).thenReturn(reference);
+
+        assertThat(itemStorage.findItemReferenceById(1L)).containsSame(reference);
+        assertThat(itemStorage.findItemReferenceById(1L)).containsSame(reference);
+
+        verify(delegate, times(1)).findItemById(1L);
+        verify(delegate, never()).findItemReferenceById(anyLong());
+    }
+
+    @Test
+    void findItemById_ShouldAlwaysReadDatabase() {
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item));
+
+        itemStorage.findItemSnapshotById(1L);
+        assertThat(itemStorage.findItemById(1L)).containsSame(item);
+        assertThat(itemStorage.findItemById(1L)).containsSame(item);
+
+        verify(delegate, times(3)).findItemById(1L);
+    }
+
+    @Test
+    void existsById_ShouldUseCache() {
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item));
+
+        itemStorage.findItemSnapshotById(1L);
+
+        assertThat(itemStorage.existsById(1L)).isTrue();
+        verify(delegate, times(1)).findItemById(1L);
+        verify(delegate, never()).existsById(anyLong());
+    }
+
+    @Test
+    void updateItem_ShouldInvalidateCache() {
+        Item updated = item.toBuilder().name("Hammer").build();
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item), Optional.of(updated));
+        when(delegate.updateItem(1L, updated)).thenReturn(updated);
+
+        itemStorage.findItemSnapshotById(1L);
+        itemStorage.updateItem(1L, updated);
+
+        assertThat(itemStorage.findItemSnapshotById(1L).orElseThrow().getName()).isEqualTo("Hammer");
+    }
+
+    @Test
+    void deleteItemById_ShouldInvalidateCache() {
+        when(delegate.findItemById(1L)).thenReturn(Optional.of(item), Optional.empty());
+
+        itemStorage.findItemSnapshotById(1L);
+        itemStorage.deleteItemById(1L);
+
+        assertThat(itemStorage.findItemSnapshotById(1L)).isEmpty();
+        verify(delegate).deleteItemById(1L);
+    }
+
+    @Test
+    void searchItems_ShouldNotBeCached() {
+        when(delegate.searchItems("drill", 0, 10)).thenReturn(List.of());
+
+        itemStorage.searchItems("drill", 0, 10);
+        itemStorage.searchItems("drill", 0, 10);
+
+        verify(delegate, times(2)).searchItems("drill", 0, 10);
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.server.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.dto.booking.BookingCreateDto;
+import ru.practicum.shareit.server.dto.item.CommentDto;
+import ru.practicum.shareit.server.dto.item.ItemDto;
+import ru.practicum.shareit.server.dto.request.RequestDto;
+import ru.practicum.shareit.server.dto.user.UserDto;
+import ru.practicum.shareit.server.exception.ForbiddenException;
+import ru.practicum.shareit.server.monitoring.QueriesEndpoint;
+import ru.practicum.shareit.server.monitoring.QueryStatistics;
+import ru.practicum.shareit.server.service.booking.BookingService;
+import ru.practicum.shareit.server.service.item.ItemService;
+import ru.practicum.shareit.server.service.request.RequestService;
+import ru.practicum.shareit.server.service.user.UserService;
+import ru.practicum.shareit.server.storage.item.CachingItemStorage;
+import ru.practicum.shareit.server.storage.item.ItemStorage;
+import ru.practicum.shareit.server.storage.user.CachingUserStorage;
+import ru.practicum.shareit.server.storage.user.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Кеш включен. Изменения, сделанные в обход кеша через JdbcTemplate, изображают другой экземпляр сервера:
+// чтение может вернуть закешированную копию, а изменения должны опираться на данные из базы
+@SpringBootTest(properties = "shareit.cache.enabled=true")
+@Sql(scripts = {"/clean.sql"}) // Очищает таблицы перед каждым тестом
+class CachingStorageIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private ItemStorage itemStorage;
+
+    @Autowired
+    private UserStorage userStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueriesEndpoint queriesEndpoint;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.addUser(UserDto.builder().name("Owner").email("owner@example.com").build());
+        booker = userService.addUser(UserDto.builder().name("Booker").email("booker@example.com").build());
+        item = itemService.addItem(owner.getId(), ItemDto.builder()
+                .name("Drill")
+                .description("Ударная дрель")
+                .available(true)
+                .build());
+    }
+
+    @Test
+    void cachingStorages_ShouldBeActive() {
+        assertThat(itemStorage).isInstanceOf(CachingItemStorage.class);
+        assertThat(userStorage).isInstanceOf(CachingUserStorage.class);
+    }
+
+    @Test
+    void getItemById_ShouldServeCachedCopy() {
+        itemService.getItemById(item.getId());
+        jdbcTemplate.update("UPDATE items SET name = 'Changed elsewhere' WHERE id = ?", item.getId());
+
+        assertThat(itemService.getItemById(item.getId()).getName()).isEqualTo("Drill");
+    }
+
+    @Test
+    void updateItem_ShouldNotOverwriteChangeMadeElsewhere() {
+        itemService.getItemById(item.getId());
+        jdbcTemplate.update("UPDATE items SET description = 'Changed elsewhere' WHERE id = ?", item.getId());
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDto.builder().name("Hammer drill").build());
+
+        assertThat(jdbcTemplate.queryForMap("SELECT name, description FROM items WHERE id = ?", item.getId()))
+                .containsEntry("NAME", "Hammer drill")
+                .containsEntry("DESCRIPTION", "Changed elsewhere");
+        assertThat(itemService.getItemById(item.getId()).getDescription()).isEqualTo("Changed elsewhere");
+    }
+
+    @Test
+    void updateItem_ShouldCheckOwnerOfCachedItem() {
+        itemService.getItemById(item.getId());
+
+        assertThrows(ForbiddenException.class, () -> itemService.updateItem(booker.getId(), item.getId(),
+                ItemDto.builder().name("Stolen").build()));
+    }
+
+    @Test
+    void addBooking_ShouldRejectItemWithdrawnElsewhere() {
+        itemService.getItemById(item.getId());
+        jdbcTemplate.update("UPDATE items SET is_available = FALSE WHERE id = ?", item.getId());
+
+        BookingCreateDto booking = BookingCreateDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.addBooking(booker.getId(), booking));
+    }
+
+    @Test
+    void updateUser_ShouldNotOverwriteChangeMadeElsewhere() {
+        userService.getUserById(owner.getId());
+        jdbcTemplate.update("UPDATE users SET email = 'elsewhere@example.com' WHERE id = ?", owner.getId());
+
+        userService.updateUser(owner.getId(), UserDto.builder().name("Renamed").build());
+
+        assertThat(jdbcTemplate.queryForMap("SELECT name, email FROM users WHERE id = ?", owner.getId()))
+                .containsEntry("NAME", "Renamed")
+                .containsEntry("EMAIL", "elsewhere@example.com");
+    }
+
+    @Test
+    void writesReferencingCachedUser_ShouldNotReadUserRow() {
+        userService.getUserById(owner.getId());
+        userService.getUserById(booker.getId());
+        queriesEndpoint.reset();
+
+        itemService.addItem(owner.getId(), ItemDto.builder().name("Saw").description("Пила").available(true).build());
+        requestService.createRequest(booker.getId(), RequestDto.builder().description("Нужна пила").build());
+        bookingService.addBooking(booker.getId(), BookingCreateDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+
+        assertThat(executions("from users")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE booker_id = ?", Long.class,
+                booker.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void addComment_ShouldSaveCachedAuthor() {
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, 'APPROVED')", LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(2), item.getId(), booker.getId());
+        userService.getUserById(booker.getId());
+
+        assertThat(itemService.addComment(booker.getId(), item.getId(),
+                CommentDto.builder().text("Отличная дрель").build()).getAuthorName()).isEqualTo("Booker");
+        assertThat(jdbcTemplate.queryForObject("SELECT author_id FROM comments", Long.class))
+                .isEqualTo(booker.getId());
+    }
+
+    private long executions(String sqlPart) {
+        @SuppressWarnings("unchecked")
+        List<QueryStatistics.QuerySummary> byCount =
+                (List<QueryStatistics.QuerySummary>) queriesEndpoint.queries(100).get("byCount");
+        return byCount.stream()
+                .filter(summary -> summary.getSql().toLowerCase().contains(sqlPart))
+                .mapToLong(QueryStatistics.QuerySummary::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.server.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.server.datasource.PrimaryReader;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.storage.user.CachingUserStorage;
+import ru.practicum.shareit.server.storage.user.DatabaseUserStorage;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserStorageTest {
+
+    @Mock
+    private DatabaseUserStorage delegate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private MeterRegistry meterRegistry;
+    private CachingUserStorage userStorage;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userStorage = new CachingUserStorage(delegate, new PrimaryReader(null, false), entityManager,
+                meterRegistry, 100, Duration.ofMinutes(5));
+
+        user = User.builder()
+                .id(1L)
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .build();
+    }
+
+    @Test
+    void findUserSnapshotById_ShouldHitDatabaseOnce() {
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user));
+
+        assertThat(userStorage.findUserSnapshotById(1L)).isPresent();
+        assertThat(userStorage.findUserSnapshotById(1L)).isPresent();
+        assertThat(userStorage.existsById(1L)).isTrue();
+
+        verify(delegate, times(1)).findUserById(1L);
+        verify(delegate, never()).existsById(anyLong());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findUserReferenceById_ShouldCheckExistenceInCache() {
+        User reference = User.builder().id(1L).build();
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user));
+        when(entityManager.getReference(User.class, 1L)).thenReturn(reference);
+
+        assertThat(userStorage.findUserReferenceById(1L)).containsSame(reference);
+        assertThat(userStorage.findUserReferenceById(1L)).containsSame(reference);
+
+        verify(delegate, times(1)).findUserById(1L);
+        verify(delegate, never()).findUserReferenceById(anyLong());
+    }
+
+    @Test
+    void findUserReferenceById_ShouldBeEmpty_WhenUserIsMissing() {
+        when(delegate.findUserById(2L)).thenReturn(Optional.empty());
+
+        assertThat(userStorage.findUserReferenceById(2L)).isEmpty();
+
+        verify(entityManager, never()).getReference(any(), any());
+    }
+
+    @Test
+    void findUserById_ShouldAlwaysReadDatabase() {
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user));
+
+        userStorage.findUserSnapshotById(1L);
+        assertThat(userStorage.findUserById(1L)).containsSame(user);
+
+        verify(delegate, times(2)).findUserById(1L);
+    }
+
+    @Test
+    void findUserSnapshotById_ShouldNotCacheMissingUser() {
+        when(delegate.findUserById(2L)).thenReturn(Optional.empty());
+
+        assertThat(userStorage.findUserSnapshotById(2L)).isEmpty();
+        assertThat(userStorage.existsById(2L)).isFalse();
+
+        verify(delegate, times(2)).findUserById(2L);
+    }
+
+    @Test
+    void findUserSnapshotById_ShouldReturnCopy() {
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user));
+
+        userStorage.findUserSnapshotById(1L).orElseThrow().setName("Changed");
+
+        assertThat(userStorage.findUserSnapshotById(1L).orElseThrow().getName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    void updateUser_ShouldInvalidateCache() {
+        User updated = user.toBuilder().name("Jane Doe").build();
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user), Optional.of(updated));
+        when(delegate.updateUser(1L, updated)).thenReturn(updated);
+
+        userStorage.findUserSnapshotById(1L);
+        userStorage.updateUser(1L, updated);
+
+        assertThat(userStorage.findUserSnapshotById(1L).orElseThrow().getName()).isEqualTo("Jane Doe");
+        verify(delegate, times(2)).findUserById(1L);
+    }
+
+    @Test
+    void deleteUserById_ShouldInvalidateCache() {
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user), Optional.empty());
+
+        userStorage.findUserSnapshotById(1L);
+        userStorage.deleteUserById(1L);
+
+        assertThat(userStorage.existsById(1L)).isFalse();
+        verify(delegate).deleteUserById(1L);
+    }
+
+    @Test
+    void deleteAllUsers_ShouldInvalidateCache() {
+        when(delegate.findUserById(1L)).thenReturn(Optional.of(user), Optional.empty());
+
+        userStorage.findUserSnapshotById(1L);
+        userStorage.deleteAllUsers();
+
+        assertThat(userStorage.findUserSnapshotById(1L)).isEmpty();
+        verify(delegate).deleteAllUsers();
+    }
+}
@@ -9,10 +9,13 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.model.item.Item;
 import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
 import ru.practicum.shareit.server.repository.user.UserRepository;
 import ru.practicum.shareit.server.storage.item.DatabaseItemStorage;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -165,4 +168,71 @@ class DatabaseItemStorageTest {
         assertThat(firstItem.getName()).isEqualTo("Bike");
         assertThat(firstItem.getOwner().getId()).isEqualTo(owner.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchItems_ShouldStartAtOffset_WhenFromIsNotMultipleOfSize() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            itemStorage.addItem(Item.builder()
+                    .name("Drill " + i)
+                    .description("Дрель")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+
+        // Act
+        List<ItemSearchView> page = itemStorage.searchItems("drill", 3, 2);
+
+        // Assert
+        assertThat(page).extracting(ItemSearchView::getName).containsExactly("Drill 4", "Drill 5");
+    }
+
+    @Test
+    void searchItemsFreeBetween_ShouldStartAtOffset_WhenFromIsNotMultipleOfSize() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            itemStorage.addItem(Item.builder()
+                    .name("Drill " + i)
+                    .description("Дрель")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        // Act
+        List<ItemSearchView> page = itemStorage.searchItemsFreeBetween("drill", start, start.plusDays(1), 3, 2);
+
+        // Assert
+        assertThat(page).extracting(ItemSearchView::getName).containsExactly("Drill 4", "Drill 5");
+    }
+
+    @Test
+    void searchItems_ShouldMatchLikeWildcardsLiterally() {
+        // Arrange
+        Item discount = itemStorage.addItem(Item.builder()
+                .name("Скидка 50%")
+                .description("Дрель_1 C:\\tools")
+                .available(true)
+                .owner(owner)
+                .build());
+        itemStorage.addItem(Item.builder()
+                .name("Drill 50")
+                .description("Дрель 1")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        // Act & Assert
+        for (String text : List.of("%", "_", "50%", "Дрель_", "C:\\")) {
+            assertThat(itemStorage.searchItems(text, 0, 10))
+                    .extracting(ItemSearchView::getId)
+                    .containsExactly(discount.getId());
+            assertThat(itemStorage.searchItemsFreeBetween(text, start, start.plusDays(1), 0, 10))
+                    .extracting(ItemSearchView::getId)
+                    .containsExactly(discount.getId());
+        }
+    }
+}
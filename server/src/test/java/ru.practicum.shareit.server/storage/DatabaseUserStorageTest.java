@@ -10,7 +10,9 @@ import ru.practicum.shareit.server.exception.ConflictException;
 import ru.practicum.shareit.server.model.user.User;
 import ru.practicum.shareit.server.storage.user.DatabaseUserStorage;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -92,7 +94,7 @@ class DatabaseUserStorageTest {
         userStorage.addUser(user);
 
         // Act
-        Collection<User> users = userStorage.getAllUsers();
+        Collection<User> users = userStorage.getAllUsers(null, 100);
 
         // Assert
         assertThat(users).hasSize(1);
@@ -156,6 +158,43 @@ class DatabaseUserStorageTest {
         assertThat(deletedUser).isEmpty();
     }
 
+    @Test
+    void testGetAllUsers_ShouldPageByIdAfterCursor() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(userStorage.addUser(new User(null, "User " + i, "user" + i + "@example.com")).getId());
+        }
+
+        // Act
+        Collection<User> firstPage = userStorage.getAllUsers(null, 2);
+        Collection<User> secondPage = userStorage.getAllUsers(ids.get(1), 2);
+        Collection<User> lastPage = userStorage.getAllUsers(ids.get(3), 2);
+
+        // Assert
+        assertThat(firstPage).extracting(User::getId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(secondPage).extracting(User::getId).containsExactly(ids.get(2), ids.get(3));
+        assertThat(lastPage).extracting(User::getId).containsExactly(ids.get(4));
+    }
+
+    @Test
+    void testStreamAllUsers_ShouldReturnUsersAfterCursorInIdOrder() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(userStorage.addUser(new User(null, "User " + i, "user" + i + "@example.com")).getId());
+        }
+
+        // Act
+        List<User> streamed = new ArrayList<>();
+        userStorage.streamAllUsers(ids.get(0), streamed::add);
+
+        // Assert
+        assertThat(streamed).extracting(User::getId).containsExactly(ids.get(1), ids.get(2));
+        assertThat(streamed.get(0).getName()).isEqualTo("User 1");
+        assertThat(streamed.get(0).getEmail()).isEqualTo("user1@example.com");
+    }
+
     @Test
     void testDeleteAllUsers() {
         // Arrange
@@ -165,7 +204,7 @@ class DatabaseUserStorageTest {
         userStorage.deleteAllUsers();
 
         // Assert
-        Collection<User> users = userStorage.getAllUsers();
+        Collection<User> users = userStorage.getAllUsers(null, 100);
         assertThat(users).isEmpty();
     }
 
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.server.storage;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.storage.booking.IntervalTree;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final IntervalTree tree = new IntervalTree();
+
+    @Test
+    void overlaps_ShouldTreatBoundsAsInclusive() {
+        tree.put(1L, at(10), at(20));
+
+        assertThat(tree.overlaps(at(20), at(25))).isTrue();
+        assertThat(tree.overlaps(at(5), at(10))).isTrue();
+        assertThat(tree.overlaps(at(12), at(15))).isTrue();
+        assertThat(tree.overlaps(at(21), at(25))).isFalse();
+        assertThat(tree.overlaps(at(0), at(9))).isFalse();
+    }
+
+    @Test
+    void put_ShouldReplaceIntervalWithSameId() {
+        tree.put(1L, at(10), at(20));
+        tree.put(1L, at(30), at(40));
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.overlaps(at(10), at(20))).isFalse();
+        assertThat(tree.overlaps(at(35), at(36))).isTrue();
+    }
+
+    @Test
+    void remove_ShouldForgetInterval() {
+        tree.put(1L, at(10), at(20));
+        tree.remove(1L);
+        tree.remove(2L);
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.overlaps(at(0), at(100))).isFalse();
+    }
+
+    // Сверка со списком на случайных вставках и удалениях
+    @Test
+    void randomOperations_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        Map<Long, LocalDateTime[]> expected = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                tree.remove(id);
+                expected.remove(id);
+            } else {
+                int start = random.nextInt(1000);
+                LocalDateTime[] interval = {at(start), at(start + 1 + random.nextInt(30))};
+                tree.put(id, interval[0], interval[1]);
+                expected.put(id, interval);
+            }
+
+            LocalDateTime from = at(random.nextInt(1000));
+            LocalDateTime to = from.plusHours(random.nextInt(20));
+            List<LocalDateTime[]> overlapping = new ArrayList<>();
+            for (LocalDateTime[] interval : expected.values()) {
+                if (!interval[0].isAfter(to) && !interval[1].isBefore(from)) {
+                    overlapping.add(interval);
+                }
+            }
+            overlapping.sort(Comparator.comparing(interval -> interval[0]));
+
+            assertThat(tree.size()).isEqualTo(expected.size());
+            assertThat(tree.overlaps(from, to)).isEqualTo(!overlapping.isEmpty());
+            assertThat(tree.findOverlapping(from, to))
+                    .extracting(IntervalTree.Interval::getStart)
+                    .containsExactlyElementsOf(overlapping.stream().map(interval -> interval[0]).toList());
+        }
+    }
+
+    private static LocalDateTime at(int hours) {
+        return BASE.plusHours(hours);
+    }
+}
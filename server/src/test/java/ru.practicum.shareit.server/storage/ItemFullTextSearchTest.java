@@ -0,0 +1,208 @@
+package ru.practicum.shareit.server.storage;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.server.model.booking.Booking;
+import ru.practicum.shareit.server.model.booking.BookingStatus;
+import ru.practicum.shareit.server.model.item.Item;
+import ru.practicum.shareit.server.model.user.User;
+import ru.practicum.shareit.server.repository.booking.BookingRepository;
+import ru.practicum.shareit.server.repository.item.ItemRepository;
+import ru.practicum.shareit.server.repository.item.ItemSearchView;
+import ru.practicum.shareit.server.repository.user.UserRepository;
+import ru.practicum.shareit.server.storage.item.DatabaseItemStorage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Полнотекстовый поиск (ItemRepository.searchFullText*) - нативные запросы PostgreSQL, на H2 не выполняются.
+// База - встроенный PostgreSQL, схема создается миграциями common и postgresql (pg_trgm, btree_gist, GIN-индекс)
+@DataJpaTest(properties = "shareit.search.full-text=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DatabaseItemStorage.class)
+class ItemFullTextSearchTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private DatabaseItemStorage itemStorage;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+
+    // Под локалью C PostgreSQL не приводит кириллицу к нижнему регистру: ILIKE и to_tsvector различали бы регистр
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder()
+                    .setLocaleConfig("encoding", "UTF8")
+                    .setLocaleConfig("locale", "C.UTF-8")
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM bookings");
+        jdbcTemplate.execute("DELETE FROM items");
+        jdbcTemplate.execute("DELETE FROM users");
+
+        owner = userRepository.save(user("Owner", "owner@example.com"));
+        booker = userRepository.save(user("Booker", "booker@example.com"));
+    }
+
+    @Test
+    void searchItems_ShouldMatchOtherWordForms() {
+        Item drills = itemRepository.save(item("Дрели", "Набор из двух дрелей", true));
+        itemRepository.save(item("Перфоратор", "Для бетона", true));
+
+        assertThat(itemStorage.searchItems("дрель", 0, 10))
+                .extracting(ItemSearchView::getId)
+                .containsExactly(drills.getId());
+    }
+
+    @Test
+    void searchItems_ShouldMatchSubstring() {
+        Item hammer = itemRepository.save(item("Перфоратор", "Для бетона", true));
+
+        assertThat(itemStorage.searchItems("ПЕРФОР", 0, 10))
+                .extracting(ItemSearchView::getId)
+                .containsExactly(hammer.getId());
+    }
+
+    @Test
+    void searchItems_ShouldRankByRelevance() {
+        Item once = itemRepository.save(item("Ящик", "Ящик с дрелью", true));
+        Item twice = itemRepository.save(item("Дрель ударная", "Дрель для бетона", true));
+
+        assertThat(itemStorage.searchItems("дрель", 0, 10))
+                .extracting(ItemSearchView::getId)
+                .containsExactly(twice.getId(), once.getId());
+    }
+
+    @Test
+    void searchItems_ShouldSkipUnavailableItems() {
+        Item available = itemRepository.save(item("Дрель", "Ударная", true));
+        itemRepository.save(item("Дрель", "Сломана", false));
+
+        List<ItemSearchView> found = itemStorage.searchItems("дрель", 0, 10);
+
+        assertThat(found).extracting(ItemSearchView::getId).containsExactly(available.getId());
+        assertThat(found.get(0).getAvailable()).isTrue();
+    }
+
+    @Test
+    void searchItems_ShouldStartAtOffset() {
+        Item first = itemRepository.save(item("Дрель", "Ударная", true));
+        Item second = itemRepository.save(item("Дрель", "Аккумуляторная", true));
+        Item third = itemRepository.save(item("Дрель", "Сетевая", true));
+
+        assertThat(itemStorage.searchItems("дрель", 1, 2))
+                .extracting(ItemSearchView::getId)
+                .containsExactly(second.getId(), third.getId());
+        assertThat(first.getId()).isLessThan(second.getId());
+    }
+
+    @Test
+    void searchItems_ShouldMatchLikeWildcardsLiterally() {
+        Item discount = itemRepository.save(item("Скидка 50%_", "Дрель C:\\tools", true));
+        itemRepository.save(item("Перфоратор 50", "Дрель 1", true));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+        // Слова запроса (например, "Дрель_" -> "дрель") ищутся полнотекстово, поэтому проверяются
+        // только строки, для которых plainto_tsquery пуст и совпадение возможно лишь по ILIKE
+        for (String text : List.of("%", "_", "%_", "\\")) {
+            assertThat(itemStorage.searchItems(text, 0, 10))
+                    .extracting(ItemSearchView::getId)
+                    .containsExactly(discount.getId());
+            assertThat(itemStorage.searchItemsFreeBetween(text, start, start.plusDays(2), 0, 10))
+                    .extracting(ItemSearchView::getId)
+                    .containsExactly(discount.getId());
+        }
+    }
+
+    @Test
+    void searchItemsFreeBetween_ShouldSkipItemsWithOverlappingApprovedBookings() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        Item booked = itemRepository.save(item("Дрель", "Ударная", true));
+        Item waiting = itemRepository.save(item("Дрель", "Аккумуляторная", true));
+        Item bookedEarlier = itemRepository.save(item("Дрель", "Сетевая", true));
+        bookingRepository.save(booking(booked, start.plusDays(1), end.plusDays(1), BookingStatus.APPROVED));
+        bookingRepository.save(booking(waiting, start, end, BookingStatus.WAITING));
+        bookingRepository.save(booking(bookedEarlier, start.minusDays(5), start.minusDays(1),
+                BookingStatus.APPROVED));
+
+        assertThat(itemStorage.searchItemsFreeBetween("дрели", start, end, 0, 10))
+                .extracting(ItemSearchView::getId)
+                .containsExactly(waiting.getId(), bookedEarlier.getId());
+        assertThat(itemStorage.searchItemsFreeBetween("дрели", start, end, 1, 10))
+                .extracting(ItemSearchView::getId)
+                .containsExactly(bookedEarlier.getId());
+    }
+
+    private User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+
+    private Item item(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .startDate(start)
+                .endDate(end)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+-- Очистка данных перед интеграционными тестами (схема создается миграциями Flyway)
+SET REFERENTIAL_INTEGRITY FALSE;
+TRUNCATE TABLE comments RESTART IDENTITY;
+TRUNCATE TABLE bookings RESTART IDENTITY;
+TRUNCATE TABLE items RESTART IDENTITY;
+TRUNCATE TABLE requests RESTART IDENTITY;
+TRUNCATE TABLE users RESTART IDENTITY;
+SET REFERENTIAL_INTEGRITY TRUE;
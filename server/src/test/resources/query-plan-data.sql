@@ -0,0 +1,18 @@
+-- Данные для QueryPlanTest: на пустых таблицах оценки стоимости у всех индексов равны и план выбирается наугад.
+-- 200 пользователей, 1000 вещей, 20000 бронирований (каждое четвертое WAITING) и статистика по ним
+INSERT INTO users (id, name, email)
+SELECT x, 'User ' || x, 'user' || x || '@example.com' FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO items (id, name, description, is_available, owner_id)
+SELECT x, 'Item ' || x, 'Description ' || x, TRUE, MOD(x, 200) + 1 FROM SYSTEM_RANGE(1, 1000);
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+SELECT x,
+       DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'),
+       DATEADD('HOUR', x + 2, TIMESTAMP '2023-01-01 00:00:00'),
+       MOD(x, 1000) + 1,
+       MOD(x * 7, 200) + 1,
+       CASEWHEN(MOD(x, 4) = 0, 'WAITING', 'APPROVED')
+FROM SYSTEM_RANGE(1, 20000);
+
+ANALYZE;
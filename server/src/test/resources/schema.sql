@@ -1,57 +0,0 @@
--- Удаление таблиц (если они существуют)
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS booking CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-
--- Таблица пользователей
-CREATE TABLE IF NOT EXISTS users
-(
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name  VARCHAR(255) NOT NULL,
-    email VARCHAR(512) NOT NULL UNIQUE
-);
-
--- Таблица запросов на вещи
-CREATE TABLE IF NOT EXISTS requests
-(
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    description  VARCHAR(1024)               NOT NULL,
-    requestor_id BIGINT                      NOT NULL REFERENCES users (id),
-    created      TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
--- Таблица вещей
-CREATE TABLE IF NOT EXISTS items
-(
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name         VARCHAR(255)  NOT NULL,
-    description  VARCHAR(1024) NOT NULL,
-    is_available BOOLEAN       NOT NULL,
-    owner_id     BIGINT        NOT NULL REFERENCES users (id),
-    request_id   BIGINT REFERENCES requests (id)
-);
-
--- Таблица бронирований
-CREATE TABLE IF NOT EXISTS bookings
-(
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    start_date TIMESTAMP   NOT NULL,
-    end_date   TIMESTAMP   NOT NULL,
-    item_id    BIGINT      NOT NULL,
-    booker_id  BIGINT      NOT NULL,
-    status     VARCHAR(20) NOT NULL,
-    FOREIGN KEY (item_id) REFERENCES items (id),
-    FOREIGN KEY (booker_id) REFERENCES users (id)
-);
-
--- Таблица комментариев
-CREATE TABLE IF NOT EXISTS comments
-(
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    text      VARCHAR(1024)               NOT NULL,
-    item_id   BIGINT                      NOT NULL REFERENCES items (id),
-    author_id BIGINT                      NOT NULL REFERENCES users (id),
-    created   TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file